@@ -3,6 +3,8 @@
 import io.goodforgod.testcontainers.extensions.ContainerMode;
 import io.goodforgod.testcontainers.extensions.Isolation;
 import io.goodforgod.testcontainers.extensions.Network;
+import io.goodforgod.testcontainers.extensions.Pool;
+import io.goodforgod.testcontainers.extensions.Resources;
 import io.goodforgod.testcontainers.extensions.TestcontainersOrchestratorExtension;
 import io.testcontainers.arangodb.containers.ArangoContainer;
 import java.lang.annotation.*;
@@ -49,4 +51,14 @@
      *             behavior.
      */
     Isolation isolation() default @Isolation;
+
+    /**
+     * @return warm container pool for PER_METHOD and PER_CLASS modes. Disabled by default.
+     */
+    Pool pool() default @Pool;
+
+    /**
+     * @return CPU and memory limits of container. Unlimited by default.
+     */
+    Resources resources() default @Resources;
 }
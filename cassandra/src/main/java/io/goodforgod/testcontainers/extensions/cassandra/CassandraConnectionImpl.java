@@ -8,6 +8,7 @@
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.internal.core.type.codec.registry.DefaultCodecRegistry;
+import io.goodforgod.testcontainers.extensions.ConnectionEvent;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -176,9 +177,11 @@ private void createKeyspace(@NotNull String keyspaceName, CqlSession session) {
     @Override
     public void execute(@Language("CQL") @NotNull String cql) {
         logger.debug("Executing CQL:\n{}", cql);
+        var event = ConnectionEvent.start();
         try {
             var boundStatement = getConnection().prepare(cql).bind().setTimeout(TIMEOUT);
             getConnection().execute(boundStatement).wasApplied();
+            event.commit("cassandra", "execute", cql, 1);
         } catch (Exception e) {
             throw new CassandraConnectionException(e);
         }
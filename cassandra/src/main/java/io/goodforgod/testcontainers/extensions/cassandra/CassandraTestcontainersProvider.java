@@ -2,10 +2,13 @@
 
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ContainerResources;
 import io.goodforgod.testcontainers.extensions.Isolation;
+import io.goodforgod.testcontainers.extensions.MigrationSnapshot;
 import io.goodforgod.testcontainers.extensions.TestcontainersProvider;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.List;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
@@ -18,6 +21,9 @@
         implements
         TestcontainersProvider<TestcontainersCassandra, CassandraConnection> {
 
+    // outside of image VOLUME /var/lib/cassandra, so keyspaces are part of committed image
+    private static final String SNAPSHOT_STORAGE_DIR = "/var/lib/cassandra-snapshot";
+
     private final TestcontainersCassandraExtension delegate = new TestcontainersCassandraExtension();
 
     @Override
@@ -65,7 +71,36 @@ public String networkAlias(@NotNull TestcontainersCassandra annotation) {
         validate(annotation);
         var metadata = new CassandraMetadata(annotation.network().shared(), annotation.network().alias(),
                 annotation.image(), annotation.mode(), annotation.migration());
-        return delegate.createContainerDefault(metadata);
+        CassandraContainer container = delegate.createContainerDefault(metadata);
+        if (annotation.migration().snapshot()) {
+            String jvmOpts = container.getEnvMap().getOrDefault("JVM_OPTS", "");
+            container.withEnv("JVM_OPTS", (jvmOpts + " -Dcassandra.storagedir=" + SNAPSHOT_STORAGE_DIR).trim());
+        }
+
+        long heap = ContainerResources.heapMegabytes(annotation.resources());
+        if (heap > 0) {
+            // container uses fixed heap regardless of container memory, so heap is sized to memory limit
+            container.withEnv("MAX_HEAP_SIZE", heap + "M");
+            container.withEnv("HEAP_NEWSIZE", Math.max(1, heap / 4) + "M");
+        }
+
+        return container;
+    }
+
+    @Override
+    public MigrationSnapshot snapshot(@NotNull TestcontainersCassandra annotation) {
+        return (annotation.migration().snapshot() && annotation.migration().apply() == Migration.Mode.PER_CLASS)
+                ? migrations(annotation)
+                : null;
+    }
+
+    @Override
+    public MigrationSnapshot migrations(@NotNull TestcontainersCassandra annotation) {
+        if (annotation.migration().apply() == Migration.Mode.NONE) {
+            return null;
+        }
+
+        return new MigrationSnapshot(annotation.migration().engine().name(), List.of(annotation.migration().locations()));
     }
 
     @Override
@@ -83,7 +118,22 @@ public String isolationPrefix(@NotNull TestcontainersCassandra annotation) {
                                                                  @NotNull ContainerContext<CassandraConnection> context,
                                                                  @NotNull ExtensionContext extension,
                                                                  @NotNull String namespace) {
-        CassandraConnection connection = context.connection();
+        return isolatedConnection(context.connection(), namespace);
+    }
+
+    @Override
+    public CassandraConnection prepareIsolatedConnection(@NotNull TestcontainersCassandra annotation,
+                                                         @NotNull ContainerContext<CassandraConnection> context,
+                                                         @NotNull String namespace) {
+        CassandraConnection isolated = isolatedConnection(context.connection(), namespace);
+        if (isolated instanceof CassandraConnectionImpl cassandraConnection) {
+            cassandraConnection.createKeyspace(namespace);
+        }
+
+        return isolated;
+    }
+
+    private static CassandraConnection isolatedConnection(CassandraConnection connection, String namespace) {
         CassandraConnection.Params params = connection.params();
         CassandraConnection.Params network = connection.paramsInNetwork().orElse(null);
         return new CassandraConnectionClosableImpl(
@@ -95,6 +145,16 @@ public String isolationPrefix(@NotNull TestcontainersCassandra annotation) {
                                 network.username(), network.password()));
     }
 
+    @Override
+    public void dropIsolatedNamespaces(@NotNull TestcontainersCassandra annotation,
+                                       @NotNull ContainerContext<CassandraConnection> context,
+                                       @NotNull List<String> namespaces) {
+        CassandraConnection connection = context.connection();
+        for (String namespace : namespaces) {
+            connection.execute("DROP KEYSPACE IF EXISTS " + namespace + ";");
+        }
+    }
+
     @Override
     public void closeIsolatedConnection(@NotNull TestcontainersCassandra annotation,
                                         @NotNull CassandraConnection connection,
@@ -146,7 +206,14 @@ public void beforeStop(@NotNull TestcontainersCassandra annotation,
         }
     }
 
-    private static void validate(TestcontainersCassandra annotation) {
+    private void validate(TestcontainersCassandra annotation) {
+        if (annotation.migration().snapshot()
+                && (annotation.migration().apply() != Migration.Mode.PER_CLASS || isolation(annotation) != Isolation.Mode.DISABLED)) {
+            throw new ExtensionConfigurationException(String.format(
+                    "@%s Migration.snapshot() requires Migration.Mode.PER_CLASS apply and Isolation.Mode.DISABLED",
+                    ContainerCassandra.class.getSimpleName()));
+        }
+
         if (annotation.mode() == ContainerMode.PER_METHOD && annotation.migration().apply() == Migration.Mode.PER_CLASS) {
             throw new ExtensionConfigurationException(String.format(
                     "@%s can't apply migration in Migration.Mode.PER_CLASS mode when ContainerMode.PER_METHOD is used",
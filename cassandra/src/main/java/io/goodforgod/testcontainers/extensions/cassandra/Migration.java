@@ -38,6 +38,17 @@
      */
     String[] locations();
 
+    /**
+     * Container is committed to local snapshot image after first migration, later runs with unchanged
+     * image, engine and content of {@link #locations()} start from snapshot image and skip migration.
+     * Snapshot images of previous migrations are removed after new snapshot is committed.
+     * <p>
+     * Requires {@link Mode#PER_CLASS} apply and disabled isolation.
+     *
+     * @return true to cache migrated container as local image
+     */
+    boolean snapshot() default false;
+
     /**
      * Database migration engine implementation
      */
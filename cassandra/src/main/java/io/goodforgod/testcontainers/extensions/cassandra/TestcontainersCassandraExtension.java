@@ -1,9 +1,15 @@
 package io.goodforgod.testcontainers.extensions.cassandra;
 
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.config.DriverConfigLoader;
+import com.datastax.oss.driver.api.core.config.OptionsMap;
+import com.datastax.oss.driver.api.core.config.TypedDriverOption;
 import io.goodforgod.testcontainers.extensions.AbstractTestcontainersExtension;
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ReadinessProbe;
 import java.lang.annotation.Annotation;
+import java.net.InetSocketAddress;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,7 +23,6 @@
 import org.testcontainers.cassandra.CassandraContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
 @Internal
@@ -60,7 +65,7 @@ protected CassandraContainer createContainerDefault(CassandraMetadata metadata)
         container.withLogConsumer(new Slf4jLogConsumer(LoggerFactory.getLogger(CassandraContainer.class), true)
                 .withMdc("image", image.asCanonicalNameString())
                 .withMdc("alias", alias));
-        container.waitingFor(Wait.forListeningPort());
+        container.waitingFor(readinessProbe(container));
         container.withStartupTimeout(Duration.ofMinutes(5));
         container.setNetworkAliases(new ArrayList<>(List.of(alias)));
         if (metadata.networkShared()) {
@@ -69,6 +74,30 @@ protected CassandraContainer createContainerDefault(CassandraMetadata metadata)
         return container;
     }
 
+    /**
+     * @return wait strategy that opens CQL session without schema metadata and queries node version
+     */
+    private static ReadinessProbe readinessProbe(CassandraContainer container) {
+        return ReadinessProbe.of("CQL release_version", target -> {
+            OptionsMap optionsMap = OptionsMap.driverDefaults();
+            optionsMap.put(TypedDriverOption.CONNECTION_CONNECT_TIMEOUT, Duration.ofSeconds(1));
+            optionsMap.put(TypedDriverOption.METADATA_SCHEMA_ENABLED, false);
+            optionsMap.put(TypedDriverOption.METADATA_TOKEN_MAP_ENABLED, false);
+            var sessionBuilder = CqlSession.builder()
+                    .withConfigLoader(DriverConfigLoader.fromMap(optionsMap))
+                    .withLocalDatacenter(container.getLocalDatacenter())
+                    .addContactPoint(InetSocketAddress.createUnresolved(target.getHost(),
+                            target.getMappedPort(CassandraContext.CQL_PORT)));
+            if (container.getUsername() != null && container.getPassword() != null) {
+                sessionBuilder.withAuthCredentials(container.getUsername(), container.getPassword());
+            }
+
+            try (var session = sessionBuilder.build()) {
+                return session.execute("SELECT release_version FROM system.local").one() != null;
+            }
+        });
+    }
+
     @Override
     protected ContainerContext<CassandraConnection> createContainerContext(CassandraContainer container) {
         return new CassandraContext(container);
@@ -3,6 +3,8 @@
 import io.goodforgod.testcontainers.extensions.ContainerMode;
 import io.goodforgod.testcontainers.extensions.Isolation;
 import io.goodforgod.testcontainers.extensions.Network;
+import io.goodforgod.testcontainers.extensions.Pool;
+import io.goodforgod.testcontainers.extensions.Resources;
 import io.goodforgod.testcontainers.extensions.TestcontainersOrchestratorExtension;
 import java.lang.annotation.*;
 import org.junit.jupiter.api.Order;
@@ -47,6 +49,16 @@
      */
     Isolation isolation() default @Isolation;
 
+    /**
+     * @return warm container pool for PER_METHOD and PER_CLASS modes. Disabled by default.
+     */
+    Pool pool() default @Pool;
+
+    /**
+     * @return CPU and memory limits of container. Unlimited by default.
+     */
+    Resources resources() default @Resources;
+
     Migration migration() default @Migration(engine = Migration.Engines.FLYWAY,
             apply = Migration.Mode.NONE,
             drop = Migration.Mode.NONE);
@@ -5,6 +5,7 @@
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -95,7 +96,8 @@ public String toString() {
         }
     }
 
-    static final Map<String, Map<SharedKey, ContainerContext<?>>> CLASS_TO_SHARED_CONTAINERS = new ConcurrentHashMap<>();
+    static final Map<String, SharedRegistry<SharedKey, ContainerContext<?>>> CLASS_TO_SHARED_CONTAINERS =
+            new ConcurrentHashMap<>();
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -361,9 +363,9 @@ public void beforeAll(ExtensionContext context) {
 
                 var sharedContainerMap = CLASS_TO_SHARED_CONTAINERS.computeIfAbsent(
                         getClass().getCanonicalName(),
-                        k -> new ConcurrentHashMap<>());
+                        k -> new SharedRegistry<>());
 
-                var containerContext = sharedContainerMap.computeIfAbsent(sharedKey, k -> {
+                final Supplier<ContainerContext<?>> starter = () -> {
                     Container container = containerFromField.orElseGet(() -> {
                         logger.debug("Creating default container for image: {}", metadata.image());
                         return createContainerDefault(metadata);
@@ -375,7 +377,14 @@ public void beforeAll(ExtensionContext context) {
                     conContext.start();
                     logger.info("Started in mode '{}' container: {}", metadata.runMode(), conContext);
                     return conContext;
-                });
+                };
+
+                // network is created per JVM, so containers in network can't be shared across forks
+                var containerContext = sharedContainerMap.computeIfAbsent(sharedKey,
+                        () -> (sharedKey instanceof SharedContainerKey containerKey && !containerKey.network)
+                                ? TestcontainersOrchestratorExtension.startShared(getClass().getCanonicalName() + containerKey,
+                                        starter)
+                                : starter.get());
 
                 storage.put(metadata.runMode(), containerContext);
                 injectContext((ContainerContext<Connection>) containerContext, context);
@@ -0,0 +1,71 @@
+package io.goodforgod.testcontainers.extensions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.ApiStatus.Internal;
+
+/**
+ * Java Flight Recorder event of connection operation executed by test against container, such as SQL
+ * statement, sent or polled records. Event costs nothing but allocation when recording is off.
+ *
+ * <pre>{@code
+ * ConnectionEvent event = ConnectionEvent.start();
+ * List<T> rows = query(sql);
+ * event.commit("postgresql", "queryMany", sql, rows.size());
+ * }
+ * </pre>
+ */
+@Internal
+@Name("io.goodforgod.testcontainers.extensions.Connection")
+@Label("Connection Operation")
+@Category({ "Testcontainers", "Connection" })
+@Description("Operation executed by test against container via connection")
+@StackTrace(false)
+public final class ConnectionEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Target")
+    @Description("Statement, topic, exchange or subject")
+    String target;
+
+    @Label("Count")
+    @Description("Rows or records count")
+    int count;
+
+    /**
+     * @return event with started timing
+     */
+    public static ConnectionEvent start() {
+        ConnectionEvent event = new ConnectionEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits event if recording is enabled and event duration is above threshold
+     *
+     * @param provider  container provider, such as {@code postgresql} or {@code kafka}
+     * @param operation connection method
+     * @param target    statement, topic, exchange or subject
+     * @param count     rows or records count
+     */
+    public void commit(String provider, String operation, String target, int count) {
+        end();
+        if (shouldCommit()) {
+            this.provider = provider;
+            this.operation = operation;
+            this.target = target;
+            this.count = count;
+            commit();
+        }
+    }
+}
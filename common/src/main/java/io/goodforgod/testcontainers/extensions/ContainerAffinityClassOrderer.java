@@ -0,0 +1,77 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.*;
+import java.util.function.Function;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+// @formatter:off
+/**
+ * Orders test classes so classes that use same containers (provider, image, mode and isolation) run
+ * back to back, so {@link ContainerMode#PER_CLASS} containers are taken from warm {@link Pool} or
+ * recycled instead of started again and {@link ContainerMode#PER_RUN} containers become idle as
+ * early as possible.
+ * <p>
+ * Classes with same containers are grouped, group with the most classes runs first and next group
+ * is the one that shares the most containers with previous group. Classes without containers run
+ * first, order of classes inside group is kept.
+ * <p>
+ * Enabled via {@code junit-platform.properties}:
+ *
+ * <pre>{@code
+ * junit.jupiter.testclass.order.default=io.goodforgod.testcontainers.extensions.ContainerAffinityClassOrderer
+ * }
+ * </pre>
+ */
+// @formatter:on
+public final class ContainerAffinityClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        Map<Class<?>, Set<String>> containers = new HashMap<>();
+        List<? extends ClassDescriptor> ordered = order(context.getClassDescriptors(),
+                descriptor -> containers.computeIfAbsent(descriptor.getTestClass(),
+                        TestcontainersOrchestratorExtension::containers));
+
+        Map<ClassDescriptor, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < ordered.size(); i++) {
+            positions.put(ordered.get(i), i);
+        }
+
+        context.getClassDescriptors().sort(Comparator.comparingInt(positions::get));
+    }
+
+    /**
+     * @param classes    in original order
+     * @param containers of class
+     * @return classes grouped by containers, groups ordered by containers they share
+     */
+    static <T> List<T> order(List<? extends T> classes, Function<T, Set<String>> containers) {
+        Map<Set<String>, List<T>> groups = new LinkedHashMap<>();
+        for (T testClass : classes) {
+            groups.computeIfAbsent(containers.apply(testClass), ignored -> new ArrayList<>()).add(testClass);
+        }
+
+        List<T> ordered = new ArrayList<>(classes.size());
+        Optional.ofNullable(groups.remove(Set.<String>of())).ifPresent(ordered::addAll);
+
+        Set<String> previous = Set.of();
+        while (!groups.isEmpty()) {
+            Set<String> next = null;
+            long nextShared = -1;
+            for (Map.Entry<Set<String>, List<T>> group : groups.entrySet()) {
+                long shared = group.getKey().stream().filter(previous::contains).count();
+                if (shared > nextShared || (shared == nextShared && group.getValue().size() > groups.get(next).size())) {
+                    next = group.getKey();
+                    nextShared = shared;
+                }
+            }
+
+            ordered.addAll(groups.remove(next));
+            previous = next;
+        }
+
+        return ordered;
+    }
+}
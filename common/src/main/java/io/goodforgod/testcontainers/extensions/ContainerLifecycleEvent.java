@@ -0,0 +1,48 @@
+package io.goodforgod.testcontainers.extensions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event of container start, stop or provider hook
+ */
+@Name("io.goodforgod.testcontainers.extensions.ContainerLifecycle")
+@Label("Container Lifecycle")
+@Category({ "Testcontainers", "Lifecycle" })
+@Description("Container start, stop or provider hook executed by orchestrator")
+@StackTrace(false)
+final class ContainerLifecycleEvent extends Event {
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Container")
+    String container;
+
+    @Label("Test Class")
+    String testClass;
+
+    static ContainerLifecycleEvent start(String phase) {
+        ContainerLifecycleEvent event = new ContainerLifecycleEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    void commit(String provider, Object container, String testClass) {
+        end();
+        if (shouldCommit()) {
+            this.provider = provider;
+            this.container = (container == null) ? null : container.toString();
+            this.testClass = testClass;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package io.goodforgod.testcontainers.extensions;
+
+import com.github.dockerjava.api.model.HostConfig;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Applies {@link Resources} limits to container host config and derives container settings from
+ * them for providers
+ */
+@Internal
+public final class ContainerResources {
+
+    // docker rejects memory limit below 6MB
+    private static final long MIN_MEMORY = 6L * 1024 * 1024;
+    private static final Pattern MEMORY = Pattern.compile("(\\d+)([bkmg]?)");
+    private static final Pattern CPUSET = Pattern.compile("\\d+(-\\d+)?(,\\d+(-\\d+)?)*");
+
+    private ContainerResources() {}
+
+    /**
+     * @param resources configured limits
+     * @return true if any limit is configured
+     */
+    public static boolean limited(@NotNull Resources resources) {
+        return resources.cpus() != 0 || !resources.memory().isBlank() || !resources.cpuset().isBlank();
+    }
+
+    /**
+     * @param container to apply limits to before container is started
+     * @param resources configured limits
+     */
+    public static void apply(@NotNull GenericContainer<?> container, @NotNull Resources resources) {
+        if (!limited(resources)) {
+            return;
+        }
+
+        long nanoCpus = nanoCpus(resources);
+        long memory = memoryBytes(resources);
+        String cpuset = cpuset(resources);
+        container.withCreateContainerCmdModifier(cmd -> {
+            HostConfig hostConfig = (cmd.getHostConfig() == null)
+                    ? HostConfig.newHostConfig()
+                    : cmd.getHostConfig();
+            if (nanoCpus > 0) {
+                hostConfig.withNanoCPUs(nanoCpus);
+            }
+            if (memory > 0) {
+                // swap equal to memory disables swap, so container is limited by memory instead of slowed down by swap
+                hostConfig.withMemory(memory).withMemorySwap(memory);
+            }
+            if (!cpuset.isEmpty()) {
+                hostConfig.withCpusetCpus(cpuset);
+            }
+            cmd.withHostConfig(hostConfig);
+        });
+    }
+
+    /**
+     * @param resources configured limits
+     * @return memory limit in bytes, zero if memory is unlimited
+     */
+    public static long memoryBytes(@NotNull Resources resources) {
+        String memory = resources.memory().trim().toLowerCase(Locale.ROOT);
+        if (memory.isEmpty()) {
+            return 0;
+        }
+
+        var matcher = MEMORY.matcher(memory);
+        if (!matcher.matches()) {
+            throw new ExtensionConfigurationException(
+                    "@Resources memory must be number with optional b, k, m or g suffix, but was: " + resources.memory());
+        }
+
+        long bytes;
+        try {
+            long multiplier = switch (matcher.group(2)) {
+                case "k" -> 1024L;
+                case "m" -> 1024L * 1024;
+                case "g" -> 1024L * 1024 * 1024;
+                default -> 1L;
+            };
+            bytes = Math.multiplyExact(Long.parseLong(matcher.group(1)), multiplier);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new ExtensionConfigurationException("@Resources memory is too big: " + resources.memory(), e);
+        }
+
+        if (bytes < MIN_MEMORY) {
+            throw new ExtensionConfigurationException("@Resources memory must be at least 6m, but was: " + resources.memory());
+        }
+
+        return bytes;
+    }
+
+    /**
+     * JVM based containers such as Cassandra and Kafka size heap by host memory or use fixed heap, so
+     * heap is sized to half of container memory limit, leaving rest for off-heap memory and page cache
+     *
+     * @param resources configured limits
+     * @return JVM heap size in megabytes, zero if memory is unlimited
+     */
+    public static long heapMegabytes(@NotNull Resources resources) {
+        long memory = memoryBytes(resources);
+        return (memory == 0)
+                ? 0
+                : Math.max(1, memory / 2 / (1024 * 1024));
+    }
+
+    private static long nanoCpus(Resources resources) {
+        double cpus = resources.cpus();
+        if (cpus < 0 || Double.isNaN(cpus) || Double.isInfinite(cpus)) {
+            throw new ExtensionConfigurationException("@Resources cpus must be zero or positive, but was: " + cpus);
+        }
+
+        return (long) (cpus * 1_000_000_000L);
+    }
+
+    private static String cpuset(Resources resources) {
+        String cpuset = resources.cpuset().replace(" ", "");
+        if (!cpuset.isEmpty() && !CPUSET.matcher(cpuset).matches()) {
+            throw new ExtensionConfigurationException(
+                    "@Resources cpuset must be list of CPUs or ranges (e.g. 0-3 or 0,2), but was: " + resources.cpuset());
+        }
+
+        return cpuset;
+    }
+}
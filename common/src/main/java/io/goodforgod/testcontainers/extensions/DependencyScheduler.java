@@ -0,0 +1,158 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+/**
+ * Runs tasks over the provider dependency graph.
+ * <p>
+ * Every node starts as soon as its own dependencies are completed instead of waiting for a whole
+ * dependency level, so total time equals the longest dependency chain. Nodes are submitted in order
+ * of their critical path length, so the longest chains get executor threads first when the executor
+ * is bounded.
+ *
+ * @param <T> node type
+ */
+final class DependencyScheduler<T> {
+
+    private final List<T> nodes;
+    private final Map<T, Set<T>> upstream;
+    private final Map<T, Set<T>> downstream;
+
+    private DependencyScheduler(List<T> nodes, Map<T, Set<T>> upstream, Map<T, Set<T>> downstream) {
+        this.nodes = nodes;
+        this.upstream = upstream;
+        this.downstream = downstream;
+    }
+
+    /**
+     * @param nodes        to schedule
+     * @param id           annotation type identifying node
+     * @param dependencies annotation types node depends on, dependencies outside of nodes are ignored
+     * @param reverse      when true dependents are run before their dependencies (stop order)
+     * @return scheduler with validated acyclic graph
+     */
+    static <T> DependencyScheduler<T> of(Collection<T> nodes,
+                                         Function<T, Class<? extends Annotation>> id,
+                                         Function<T, Set<Class<? extends Annotation>>> dependencies,
+                                         boolean reverse) {
+        Map<Class<? extends Annotation>, T> byId = new LinkedHashMap<>();
+        nodes.forEach(node -> byId.put(id.apply(node), node));
+
+        Map<T, Set<T>> upstream = new LinkedHashMap<>();
+        Map<T, Set<T>> downstream = new LinkedHashMap<>();
+        nodes.forEach(node -> {
+            upstream.put(node, new LinkedHashSet<>());
+            downstream.put(node, new LinkedHashSet<>());
+        });
+
+        for (T node : nodes) {
+            for (Class<? extends Annotation> dependencyId : dependencies.apply(node)) {
+                T dependency = byId.get(dependencyId);
+                if (dependency == null || dependency == node) {
+                    continue;
+                }
+
+                T before = reverse ? node : dependency;
+                T after = reverse ? dependency : node;
+                upstream.get(after).add(before);
+                downstream.get(before).add(after);
+            }
+        }
+
+        return new DependencyScheduler<>(topologicalOrder(upstream, downstream), upstream, downstream);
+    }
+
+    /**
+     * @return nodes in execution order where every node follows all of its upstream nodes
+     */
+    List<T> order() {
+        return nodes;
+    }
+
+    /**
+     * Runs task for every node once its upstream nodes completed and waits for all of them.
+     * Failed node fails all of its downstream nodes without running them.
+     *
+     * @return task results in {@link #order()}
+     */
+    <R> List<R> run(Function<T, R> task, Executor executor) {
+        Map<T, Integer> criticalPath = criticalPath();
+        List<T> submitOrder = new ArrayList<>(nodes);
+        submitOrder.sort(Comparator.comparingInt((T node) -> criticalPath.get(node)).reversed());
+
+        Map<T, CompletableFuture<R>> futures = new HashMap<>();
+        for (T node : nodes) {
+            futures.put(node, new CompletableFuture<>());
+        }
+
+        for (T node : submitOrder) {
+            CompletableFuture<?>[] before = upstream.get(node).stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<R> result = futures.get(node);
+            CompletableFuture.allOf(before)
+                    .thenApplyAsync(ignored -> task.apply(node), executor)
+                    .whenComplete((value, e) -> {
+                        if (e != null) {
+                            result.completeExceptionally(e);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        return nodes.stream()
+                .map(node -> futures.get(node).join())
+                .toList();
+    }
+
+    /**
+     * @return length of the longest downstream chain for every node including node itself
+     */
+    private Map<T, Integer> criticalPath() {
+        Map<T, Integer> lengths = new HashMap<>();
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            T node = nodes.get(i);
+            int longest = 0;
+            for (T after : downstream.get(node)) {
+                longest = Math.max(longest, lengths.get(after));
+            }
+            lengths.put(node, longest + 1);
+        }
+        return lengths;
+    }
+
+    private static <T> List<T> topologicalOrder(Map<T, Set<T>> upstream, Map<T, Set<T>> downstream) {
+        Map<T, Integer> pending = new LinkedHashMap<>();
+        Deque<T> ready = new ArrayDeque<>();
+        upstream.forEach((node, before) -> {
+            pending.put(node, before.size());
+            if (before.isEmpty()) {
+                ready.add(node);
+            }
+        });
+
+        List<T> ordered = new ArrayList<>(upstream.size());
+        while (!ready.isEmpty()) {
+            T node = ready.poll();
+            ordered.add(node);
+            for (T after : downstream.get(node)) {
+                if (pending.merge(after, -1, Integer::sum) == 0) {
+                    ready.add(after);
+                }
+            }
+        }
+
+        if (ordered.size() != upstream.size()) {
+            throw new ExtensionConfigurationException("Cycle detected in Testcontainers provider dependencies");
+        }
+
+        return ordered;
+    }
+}
@@ -0,0 +1,230 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+/**
+ * Registry of containers shared between test JVM forks, stored in directory under file locks. Fork
+ * that acquires key first starts container, other forks attach to same container while holding
+ * the lock, so container is never started twice. Each fork using container is recorded by process
+ * id and container is stopped by the last fork that releases it, forks that died without release
+ * are forgotten. Last fork marks container as stopping until container is stopped, so other forks
+ * wait for stop and start new container instead of attaching to container that is being stopped.
+ * Forks wait for stop only up to timeout, so fork that hangs while stopping container doesn't block
+ * other forks forever.
+ */
+final class ForkRegistry {
+
+    // file lock is held per JVM, so threads of same JVM are serialized separately
+    private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+    private static final long STOPPING_POLL_MILLIS = 100;
+    // same as default container startup timeout of Testcontainers
+    static final Duration STOPPING_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Path directory;
+    private final long fork;
+    private final Duration stoppingTimeout;
+
+    ForkRegistry(Path directory) {
+        this(directory, STOPPING_TIMEOUT);
+    }
+
+    ForkRegistry(Path directory, Duration stoppingTimeout) {
+        this(directory, ProcessHandle.current().pid(), stoppingTimeout);
+    }
+
+    ForkRegistry(Path directory, long fork) {
+        this(directory, fork, STOPPING_TIMEOUT);
+    }
+
+    ForkRegistry(Path directory, long fork, Duration stoppingTimeout) {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.fork = fork;
+        this.stoppingTimeout = stoppingTimeout;
+    }
+
+    /**
+     * Starts or attaches to shared container under lock and registers current fork as its user
+     *
+     * @param key     of shared container, same across forks
+     * @param starter starts container or attaches to container started by other fork
+     * @return started container
+     * @throws ExtensionConfigurationException when container is still being stopped by other fork
+     *                                         after stopping timeout
+     */
+    <T> T acquire(String key, Supplier<T> starter) {
+        Path stoppingFile = directory.resolve(fileName(key) + ".stopping");
+        long deadline = System.nanoTime() + stoppingTimeout.toNanos();
+        while (true) {
+            Optional<T> acquired = locked(key, forks -> {
+                if (stoppingFork(stoppingFile).isPresent()) {
+                    return Optional.empty();
+                }
+
+                T started = starter.get();
+                forks.add(fork);
+                return Optional.of(started);
+            });
+            if (acquired.isPresent()) {
+                return acquired.get();
+            }
+
+            if (System.nanoTime() - deadline >= 0) {
+                String owner = stoppingFork(stoppingFile).map(String::valueOf).orElse("unknown");
+                throw new ExtensionConfigurationException(("Shared container '%s' is still being stopped by fork with pid %s "
+                        + "after %s, remove stopping mark if that fork hangs: %s")
+                        .formatted(key, owner, stoppingTimeout, stoppingFile));
+            }
+
+            try {
+                Thread.sleep(STOPPING_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shared container stop: " + key, e);
+            }
+        }
+    }
+
+    /**
+     * Unregisters current fork as user of shared container, container is marked as stopping if no
+     * other fork uses it until {@link #stopped(String)} is called
+     *
+     * @param key of shared container
+     * @return true if no other fork uses container and it should be stopped
+     */
+    boolean release(String key) {
+        Path stoppingFile = directory.resolve(fileName(key) + ".stopping");
+        return locked(key, forks -> {
+            forks.remove(fork);
+            if (!forks.isEmpty()) {
+                return false;
+            }
+
+            write(stoppingFile, String.valueOf(fork));
+            return true;
+        });
+    }
+
+    /**
+     * Removes stopping mark of shared container, so other forks can start it again
+     *
+     * @param key of shared container released by {@link #release(String)}
+     */
+    void stopped(String key) {
+        Path stoppingFile = directory.resolve(fileName(key) + ".stopping");
+        locked(key, forks -> {
+            delete(stoppingFile);
+            return null;
+        });
+    }
+
+    /**
+     * Stopping mark of fork that died before container was stopped is forgotten
+     *
+     * @return pid of fork that is stopping container
+     */
+    private static Optional<Long> stoppingFork(Path stoppingFile) {
+        if (!Files.exists(stoppingFile)) {
+            return Optional.empty();
+        }
+
+        try {
+            long pid = Long.parseLong(Files.readString(stoppingFile, StandardCharsets.UTF_8).trim());
+            if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                return Optional.of(pid);
+            }
+        } catch (IOException | NumberFormatException e) {
+            // unreadable mark is treated as mark of dead fork
+        }
+
+        delete(stoppingFile);
+        return Optional.empty();
+    }
+
+    private static void write(Path file, String content) {
+        try {
+            Files.writeString(file, content, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shared container registry can't be written: " + file, e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shared container registry can't be written: " + file, e);
+        }
+    }
+
+    private <R> R locked(String key, Function<Set<Long>, R> action) {
+        String file = fileName(key);
+        Path lockFile = directory.resolve(file + ".lock");
+        Path forksFile = directory.resolve(file + ".forks");
+        synchronized (MONITORS.computeIfAbsent(lockFile, ignored -> new Object())) {
+            try {
+                Files.createDirectories(directory);
+                try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                        FileLock ignored = channel.lock()) {
+                    Set<Long> forks = readForks(forksFile);
+                    R result = action.apply(forks);
+                    if (forks.isEmpty()) {
+                        Files.deleteIfExists(forksFile);
+                    } else {
+                        Files.writeString(forksFile, forks.stream()
+                                .map(String::valueOf)
+                                .collect(Collectors.joining("\n")), StandardCharsets.UTF_8);
+                    }
+
+                    return result;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Shared container registry can't be accessed: " + lockFile, e);
+            }
+        }
+    }
+
+    private static Set<Long> readForks(Path forksFile) throws IOException {
+        Set<Long> forks = new LinkedHashSet<>();
+        if (Files.exists(forksFile)) {
+            for (String line : Files.readAllLines(forksFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    long pid = Long.parseLong(line.trim());
+                    if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                        forks.add(pid);
+                    }
+                }
+            }
+        }
+
+        return forks;
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
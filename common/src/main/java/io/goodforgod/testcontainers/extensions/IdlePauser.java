@@ -0,0 +1,169 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pauses shared containers when no running test class uses them, so background work of idle
+ * containers (log cleaners, compaction, gossip) doesn't take CPU from containers of running test
+ * classes. Container is paused in background after last test class releases it and unpaused in
+ * caller thread when test class acquires it again.
+ *
+ * @param <K> shared container key type
+ */
+final class IdlePauser<K> {
+
+    /**
+     * Pauses and unpauses container processes
+     */
+    interface Control {
+
+        void pause();
+
+        void unpause();
+    }
+
+    private static final class State {
+
+        private final Control control;
+        private int users = 0;
+        private boolean paused = false;
+        private boolean closed = false;
+
+        private State(Control control) {
+            this.control = control;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(IdlePauser.class);
+
+    private final Map<K, State> states = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final Consumer<K> beforePause;
+
+    /**
+     * @param executor    where containers are paused
+     * @param beforePause waits for background work against container, such as namespace prefetch and
+     *                        drop, before container is paused
+     */
+    IdlePauser(Executor executor, Consumer<K> beforePause) {
+        this.executor = executor;
+        this.beforePause = beforePause;
+    }
+
+    /**
+     * @param key     of shared container that can be paused
+     * @param control pauses and unpauses container
+     */
+    void register(K key, Control control) {
+        states.putIfAbsent(key, new State(control));
+    }
+
+    /**
+     * Marks container as used by test class, unpauses container if it is paused
+     *
+     * @param key of shared container
+     */
+    void acquire(K key) {
+        State state = states.get(key);
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            state.users++;
+            if (state.paused) {
+                unpause(key, state);
+            }
+        }
+    }
+
+    /**
+     * Marks container as not used by test class, pauses container in background if no other test
+     * class uses it
+     *
+     * @param key of shared container
+     */
+    void release(K key) {
+        State state = states.get(key);
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            if (state.users > 0 && --state.users == 0) {
+                executor.execute(() -> pauseIfIdle(key, state));
+            }
+        }
+    }
+
+    /**
+     * Unpauses container if it is paused and stops pausing it, used before container is stopped or
+     * kept for reuse
+     *
+     * @param key of shared container
+     */
+    void resume(K key) {
+        State state = states.remove(key);
+        if (state == null) {
+            return;
+        }
+
+        synchronized (state) {
+            state.closed = true;
+            if (state.paused) {
+                unpause(key, state);
+            }
+        }
+    }
+
+    boolean paused(K key) {
+        State state = states.get(key);
+        if (state == null) {
+            return false;
+        }
+
+        synchronized (state) {
+            return state.paused;
+        }
+    }
+
+    private void pauseIfIdle(K key, State state) {
+        synchronized (state) {
+            if (state.users > 0 || state.paused || state.closed) {
+                return;
+            }
+        }
+
+        // background work is awaited without lock, so test class that acquires container isn't blocked by it
+        beforePause.accept(key);
+        synchronized (state) {
+            if (state.users > 0 || state.paused || state.closed) {
+                return;
+            }
+
+            try {
+                state.control.pause();
+                state.paused = true;
+                logger.debug("Paused idle container: {}", key);
+            } catch (Exception e) {
+                logger.warn("Failed to pause idle container: {}", key, e);
+            }
+        }
+    }
+
+    private static void unpause(Object key, State state) {
+        try {
+            state.control.unpause();
+            logger.debug("Unpaused container: {}", key);
+        } catch (Exception e) {
+            logger.warn("Failed to unpause container: {}", key, e);
+        } finally {
+            state.paused = false;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts test classes of test plan that are still to run per shared container, so shared container
+ * is stopped as soon as the last test class that uses it finishes instead of when test plan
+ * execution finishes. Containers which keys were not counted are never reaped.
+ *
+ * @param <K> shared container key type
+ */
+final class IdleReaper<K> {
+
+    private final Map<K, AtomicInteger> remaining = new ConcurrentHashMap<>();
+
+    /**
+     * @param key of shared container used by test class that is still to run
+     */
+    void expect(K key) {
+        remaining.computeIfAbsent(key, ignored -> new AtomicInteger()).incrementAndGet();
+    }
+
+    /**
+     * @param key of shared container used by test class that finished or was skipped
+     * @return true if no test class that uses shared container remains
+     */
+    boolean finished(K key) {
+        AtomicInteger counter = remaining.get(key);
+        return counter != null && counter.decrementAndGet() == 0;
+    }
+
+    int remaining(K key) {
+        AtomicInteger counter = remaining.get(key);
+        return (counter == null)
+                ? 0
+                : Math.max(0, counter.get());
+    }
+}
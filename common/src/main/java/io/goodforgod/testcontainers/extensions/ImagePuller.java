@@ -0,0 +1,76 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pulls images of test plan containers concurrently with bounded parallelism when test plan
+ * execution starts, so missing images are pulled in one parallel wait instead of one by one as
+ * containers are started. Container start waits for pull of its image that is still in progress
+ * instead of pulling same image again.
+ */
+final class ImagePuller {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImagePuller.class);
+
+    private static final Map<String, CompletableFuture<Void>> PULLS = new ConcurrentHashMap<>();
+
+    private ImagePuller() {}
+
+    /**
+     * @param pulls       image to its pull that checks local image cache first
+     * @param parallelism max images pulled at once
+     * @return future completed when all images are pulled or failed, failures are logged
+     */
+    static CompletableFuture<Void> pull(Map<String, Supplier<?>> pulls, int parallelism) {
+        if (pulls.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, pulls.size())), runnable -> {
+            Thread thread = new Thread(runnable, "testcontainers-extensions-pull-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        logger.debug("Pulling {} images with parallelism {}", pulls.size(), parallelism);
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        pulls.forEach((image, pull) -> {
+            CompletableFuture<Void> future = CompletableFuture.runAsync(pull::get, executor)
+                    .exceptionally(e -> {
+                        logger.warn("Failed to pull image, it is pulled again on container start: {}", image, e);
+                        return null;
+                    });
+            PULLS.putIfAbsent(image, future);
+            futures.add(future);
+        });
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((result, e) -> {
+                    executor.shutdown();
+                    logger.info("Pulled {} images in {} millis", pulls.size(), (System.nanoTime() - started) / 1_000_000);
+                });
+    }
+
+    /**
+     * @param image to wait for if its pull is in progress
+     */
+    static void await(String image) {
+        CompletableFuture<Void> pull = PULLS.get(image);
+        if (pull != null && !pull.isDone()) {
+            logger.debug("Waiting for image pull: {}", image);
+            pull.join();
+        }
+    }
+}
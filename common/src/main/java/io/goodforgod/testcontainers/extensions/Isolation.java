@@ -18,6 +18,10 @@
  * parameter injection are rejected because one test instance or lifecycle phase could
  * otherwise observe a connection scoped to another test method.
  * <p>
+ * {@link Mode#PER_CLASS} creates one logical namespace for every test class that is shared by all
+ * test methods of the class and is released after all of them finished. Works with
+ * {@code TestInstance.Lifecycle.PER_CLASS}, constructor and {@code @BeforeAll} parameter injection.
+ * <p>
  * Example:
  *
  * <pre>{@code
@@ -43,6 +47,23 @@
      */
     Mode value() default Mode.DISABLED;
 
+    /**
+     * Number of isolated namespaces (databases, keyspaces) prepared ahead in background for
+     * {@link Mode#PER_METHOD}, so test only takes namespace that is already created. Applies to
+     * {@link ContainerMode#PER_CLASS} and {@link ContainerMode#PER_RUN} containers.
+     *
+     * @return number of namespaces prepared ahead, disabled by default
+     */
+    int prefetch() default 0;
+
+    /**
+     * Namespaces of finished tests are dropped in background in batches, this controls which namespaces
+     * are kept for debugging instead
+     *
+     * @return namespaces to keep after test finished, none kept by default
+     */
+    Keep keep() default Keep.NONE;
+
     enum Mode {
         /**
          * Keeps the default non-isolated connection behavior.
@@ -53,6 +74,26 @@ enum Mode {
          * Use with conjunction with {@link org.junit.jupiter.api.TestInstance.Lifecycle#PER_METHOD}
          * to achieve parallel text execution support
          */
-        PER_METHOD
+        PER_METHOD,
+        /**
+         * Creates a separate logical connection namespace for every test class, shared by all test
+         * methods of the class.
+         */
+        PER_CLASS
+    }
+
+    enum Keep {
+        /**
+         * Drops namespaces of all finished tests
+         */
+        NONE,
+        /**
+         * Keeps namespaces of failed tests, drops namespaces of successful tests
+         */
+        FAILED,
+        /**
+         * Keeps namespaces of all tests
+         */
+        ALL
     }
 }
@@ -0,0 +1,56 @@
+package io.goodforgod.testcontainers.extensions;
+
+/**
+ * Counts tests that concurrently use shared container. First test that acquires lease and last test
+ * that releases lease get exclusive access until {@link #unlock()}, so hooks that change container
+ * state (migration drop, topic reset, bucket drop) never run while other tests still use container.
+ */
+final class Leases {
+
+    private int leased = 0;
+    private boolean exclusive = false;
+
+    /**
+     * @return true if lease is first and caller has exclusive access that must be unlocked
+     */
+    synchronized boolean acquire() {
+        awaitShared();
+        leased++;
+        exclusive = leased == 1;
+        return exclusive;
+    }
+
+    /**
+     * @return true if lease is last and caller has exclusive access that must be unlocked
+     */
+    synchronized boolean release() {
+        awaitShared();
+        if (leased == 0) {
+            throw new IllegalStateException("Lease released more times than acquired");
+        }
+
+        leased--;
+        exclusive = leased == 0;
+        return exclusive;
+    }
+
+    synchronized void unlock() {
+        exclusive = false;
+        notifyAll();
+    }
+
+    synchronized int leased() {
+        return leased;
+    }
+
+    private void awaitShared() {
+        while (exclusive) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for container lease", e);
+            }
+        }
+    }
+}
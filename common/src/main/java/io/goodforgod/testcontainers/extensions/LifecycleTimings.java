@@ -0,0 +1,281 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Wall-clock timings of container lifecycle phases per provider and test class. Test class setup
+ * starts all containers over dependency graph and then runs {@link TestcontainersProvider#afterStart}
+ * hooks over same graph, so setup critical path is the longest start chain followed by the longest
+ * after start chain. Containers started several times per test class, such as
+ * {@link ContainerMode#PER_METHOD} ones, are on the path with their longest single start.
+ */
+final class LifecycleTimings {
+
+    enum Phase {
+        /**
+         * Container start including image pull and wait strategy, or wait for shared container
+         */
+        START,
+        /**
+         * Migrations, topics and buckets creation after container start
+         */
+        AFTER_START,
+        /**
+         * Isolated namespace creation
+         */
+        ISOLATION,
+        BEFORE_EACH,
+        AFTER_EACH,
+        BEFORE_STOP,
+        STOP
+    }
+
+    record Step(Phase phase, Class<? extends Annotation> provider, long nanos) {}
+
+    private record Key(Phase phase, Class<? extends Annotation> provider, String testClass) {}
+
+    private static final class Stats {
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+
+        private synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+
+    // phases that are not bound to test class, such as background stop of shared containers
+    private static final String NO_CLASS = "";
+    private static final int SUMMARY_CLASSES = 5;
+
+    private final Map<Key, Stats> stats = new ConcurrentHashMap<>();
+    private final Map<String, Map<Class<? extends Annotation>, Set<Class<? extends Annotation>>>> graphs =
+            new ConcurrentHashMap<>();
+
+    <T> T time(Phase phase, Class<? extends Annotation> provider, String testClass, Supplier<T> action) {
+        long started = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            record(phase, provider, testClass, System.nanoTime() - started);
+        }
+    }
+
+    void record(Phase phase, Class<? extends Annotation> provider, String testClass, long nanos) {
+        String key = (testClass == null) ? NO_CLASS : testClass;
+        stats.computeIfAbsent(new Key(phase, provider, key), ignored -> new Stats()).add(nanos);
+    }
+
+    /**
+     * @param testClass    test class that starts provider container
+     * @param provider     provider annotation
+     * @param dependencies provider annotations container depends on
+     */
+    void dependencies(String testClass, Class<? extends Annotation> provider, Set<Class<? extends Annotation>> dependencies) {
+        graphs.computeIfAbsent(testClass, ignored -> new ConcurrentHashMap<>()).put(provider, Set.copyOf(dependencies));
+    }
+
+    /**
+     * @param testClass to analyze
+     * @return longest chain of container start phases followed by longest chain of after start phases
+     */
+    List<Step> criticalPath(String testClass) {
+        Map<Class<? extends Annotation>, Set<Class<? extends Annotation>>> graph = graphs.getOrDefault(testClass, Map.of());
+        List<Step> path = new ArrayList<>(criticalPath(testClass, graph, Phase.START));
+        path.addAll(criticalPath(testClass, graph, Phase.AFTER_START));
+        return path;
+    }
+
+    private List<Step> criticalPath(String testClass,
+                                    Map<Class<? extends Annotation>, Set<Class<? extends Annotation>>> graph,
+                                    Phase phase) {
+        List<Class<? extends Annotation>> order = DependencyScheduler.of(graph.keySet(),
+                provider -> provider,
+                provider -> graph.getOrDefault(provider, Set.of()),
+                false)
+                .order();
+
+        Map<Class<? extends Annotation>, Long> finish = new HashMap<>();
+        Map<Class<? extends Annotation>, Class<? extends Annotation>> previous = new HashMap<>();
+        Class<? extends Annotation> last = null;
+        for (Class<? extends Annotation> provider : order) {
+            Class<? extends Annotation> slowest = null;
+            for (Class<? extends Annotation> dependency : graph.get(provider)) {
+                if (finish.containsKey(dependency) && (slowest == null || finish.get(dependency) > finish.get(slowest))) {
+                    slowest = dependency;
+                }
+            }
+
+            long started = (slowest == null) ? 0 : finish.get(slowest);
+            finish.put(provider, started + nanos(phase, provider, testClass));
+            previous.put(provider, slowest);
+            if (last == null || finish.get(provider) > finish.get(last)) {
+                last = provider;
+            }
+        }
+
+        LinkedList<Step> path = new LinkedList<>();
+        for (Class<? extends Annotation> provider = last; provider != null; provider = previous.get(provider)) {
+            path.addFirst(new Step(phase, provider, nanos(phase, provider, testClass)));
+        }
+
+        return path;
+    }
+
+    /**
+     * @return duration of the longest single phase run, as each setup runs phase once per container
+     */
+    private long nanos(Phase phase, Class<? extends Annotation> provider, String testClass) {
+        Stats stat = stats.get(new Key(phase, provider, testClass));
+        if (stat == null) {
+            return 0;
+        }
+
+        synchronized (stat) {
+            return stat.maxNanos;
+        }
+    }
+
+    /**
+     * @return report with totals per phase and provider, per test class phases and setup critical paths
+     */
+    String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"totals\": [");
+        appendJoined(json, totals().entrySet(), (builder, total) -> builder.append("\n    {\"phase\": \"")
+                .append(total.getKey().phase())
+                .append("\", \"provider\": \"").append(escape(total.getKey().provider().getSimpleName()))
+                .append("\", \"count\": ").append(total.getValue()[0])
+                .append(", \"totalMs\": ").append(millis(total.getValue()[1]))
+                .append(", \"maxMs\": ").append(millis(total.getValue()[2]))
+                .append('}'));
+        json.append("\n  ],\n  \"classes\": [");
+        appendJoined(json, testClasses(), (builder, testClass) -> {
+            List<Step> path = criticalPath(testClass);
+            builder.append("\n    {\"testClass\": \"").append(escape(testClass))
+                    .append("\", \"setupMs\": ").append(millis(path.stream().mapToLong(Step::nanos).sum()))
+                    .append(", \"criticalPath\": [");
+            appendJoined(builder, path, (steps, step) -> steps.append("{\"phase\": \"").append(step.phase())
+                    .append("\", \"provider\": \"").append(escape(step.provider().getSimpleName()))
+                    .append("\", \"durationMs\": ").append(millis(step.nanos()))
+                    .append('}'));
+            builder.append("], \"phases\": [");
+            appendJoined(builder, classStats(testClass), (phases, stat) -> phases.append("{\"phase\": \"")
+                    .append(stat.getKey().phase())
+                    .append("\", \"provider\": \"").append(escape(stat.getKey().provider().getSimpleName()))
+                    .append("\", \"count\": ").append(stat.getValue().count)
+                    .append(", \"totalMs\": ").append(millis(stat.getValue().totalNanos))
+                    .append(", \"maxMs\": ").append(millis(stat.getValue().maxNanos))
+                    .append('}'));
+            builder.append("]}");
+        });
+        return json.append("\n  ]\n}\n").toString();
+    }
+
+    /**
+     * @return human readable summary with slowest phases and slowest test class setups
+     */
+    String summary() {
+        StringBuilder summary = new StringBuilder("Container lifecycle timings:");
+        totals().entrySet().stream()
+                .sorted(Comparator.comparingLong(total -> -total.getValue()[1]))
+                .forEach(total -> summary.append("\n  ")
+                        .append(String.format("%-12s %-32s count: %-6d total: %8.1fs max: %8.1fs",
+                                total.getKey().phase(), total.getKey().provider().getSimpleName(), total.getValue()[0],
+                                total.getValue()[1] / 1e9, total.getValue()[2] / 1e9)));
+
+        summary.append("\nSlowest test class setups:");
+        testClasses().stream()
+                .map(testClass -> Map.entry(testClass, criticalPath(testClass)))
+                .sorted(Comparator.comparingLong(path -> -path.getValue().stream().mapToLong(Step::nanos).sum()))
+                .limit(SUMMARY_CLASSES)
+                .forEach(path -> {
+                    summary.append("\n  ")
+                            .append(String.format("%8.1fs %s", path.getValue().stream().mapToLong(Step::nanos).sum() / 1e9,
+                                    path.getKey()));
+                    path.getValue().forEach(step -> summary.append(" -> ")
+                            .append(step.provider().getSimpleName()).append(' ').append(step.phase())
+                            .append(String.format(" %.1fs", step.nanos() / 1e9)));
+                });
+        return summary.toString();
+    }
+
+    void write(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+
+            Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Timings report can't be written: " + file, e);
+        }
+    }
+
+    /**
+     * @return phase and provider to count, total nanos and max nanos across all test classes
+     */
+    private Map<Key, long[]> totals() {
+        Map<Key, long[]> totals = new TreeMap<>(Comparator.comparing(Key::phase)
+                .thenComparing(key -> key.provider().getName()));
+        stats.forEach((key, stat) -> {
+            long[] total = totals.computeIfAbsent(new Key(key.phase(), key.provider(), NO_CLASS), ignored -> new long[3]);
+            synchronized (stat) {
+                total[0] += stat.count;
+                total[1] += stat.totalNanos;
+                total[2] = Math.max(total[2], stat.maxNanos);
+            }
+        });
+        return totals;
+    }
+
+    private SortedSet<String> testClasses() {
+        SortedSet<String> testClasses = new TreeSet<>();
+        stats.keySet().stream()
+                .map(Key::testClass)
+                .filter(testClass -> !NO_CLASS.equals(testClass))
+                .forEach(testClasses::add);
+        return testClasses;
+    }
+
+    private List<Map.Entry<Key, Stats>> classStats(String testClass) {
+        return stats.entrySet().stream()
+                .filter(stat -> stat.getKey().testClass().equals(testClass))
+                .sorted(Comparator.comparing((Map.Entry<Key, Stats> stat) -> stat.getKey().phase())
+                        .thenComparing(stat -> stat.getKey().provider().getName()))
+                .toList();
+    }
+
+    private static <T> void appendJoined(StringBuilder builder,
+                                         Collection<T> values,
+                                         BiConsumer<StringBuilder, T> append) {
+        boolean first = true;
+        for (T value : values) {
+            if (!first) {
+                builder.append(',');
+            }
+
+            append.accept(builder, value);
+            first = false;
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(nanos / 1_000_000);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
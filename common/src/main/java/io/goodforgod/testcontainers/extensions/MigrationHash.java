@@ -0,0 +1,110 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Hash of migration engine and content of migration locations, so any change in migration scripts
+ * changes hash
+ */
+final class MigrationHash {
+
+    private MigrationHash() {}
+
+    /**
+     * @param prefix     identifies container configuration
+     * @param migrations migrations applied to container or null
+     * @return hex hash of configuration and migrations
+     */
+    static String hash(String prefix, MigrationSnapshot migrations) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(prefix.getBytes(StandardCharsets.UTF_8));
+            if (migrations != null) {
+                digest.update(migrations.engine().getBytes(StandardCharsets.UTF_8));
+                for (String location : migrations.locations()) {
+                    digest.update(location.getBytes(StandardCharsets.UTF_8));
+                    for (Map.Entry<String, byte[]> resource : resources(location).entrySet()) {
+                        digest.update(resource.getKey().getBytes(StandardCharsets.UTF_8));
+                        digest.update(resource.getValue());
+                    }
+                }
+            }
+
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @return content of all files under location sorted by relative path
+     */
+    private static SortedMap<String, byte[]> resources(String location) {
+        SortedMap<String, byte[]> resources = new TreeMap<>();
+        try {
+            if (location.startsWith("filesystem:")) {
+                readPath(Path.of(location.substring("filesystem:".length())), resources);
+                return resources;
+            }
+
+            String path = location.replaceFirst("^classpath:", "").replaceFirst("^/", "");
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Enumeration<URL> urls = classLoader.getResources(path);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                if ("jar".equals(url.getProtocol())) {
+                    readJar(url, path, resources);
+                } else if ("file".equals(url.getProtocol())) {
+                    readPath(Path.of(url.toURI()), resources);
+                }
+            }
+
+            return resources;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Migration location '%s' can't be read".formatted(location), e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Migration location '%s' can't be read".formatted(location), e);
+        }
+    }
+
+    private static void readPath(Path root, Map<String, byte[]> resources) throws IOException {
+        if (Files.isRegularFile(root)) {
+            resources.put(root.getFileName().toString(), Files.readAllBytes(root));
+        } else if (Files.isDirectory(root)) {
+            try (Stream<Path> files = Files.walk(root)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    resources.put(root.relativize(file).toString().replace('\\', '/'), Files.readAllBytes(file));
+                }
+            }
+        }
+    }
+
+    private static void readJar(URL url, String path, Map<String, byte[]> resources) throws IOException {
+        JarURLConnection connection = (JarURLConnection) url.openConnection();
+        connection.setUseCaches(false);
+        try (JarFile jar = connection.getJarFile()) {
+            for (JarEntry entry : Collections.list(jar.entries())) {
+                String name = entry.getName();
+                if (!entry.isDirectory() && (name.equals(path) || name.startsWith(path.endsWith("/") ? path : path + "/"))) {
+                    try (InputStream stream = jar.getInputStream(entry)) {
+                        resources.put(name.substring(path.length()), stream.readAllBytes());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.List;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Migrations applied by {@link TestcontainersProvider#afterStart} that identify container state
+ * committed to local snapshot image, snapshot is reused while image, engine and content of
+ * migration locations are unchanged
+ *
+ * @param engine    migration engine name
+ * @param locations migration locations, resolved from classpath or with {@code filesystem:} prefix
+ *                      from file system
+ */
+@Internal
+public record MigrationSnapshot(@NotNull String engine, @NotNull List<String> locations) {}
@@ -0,0 +1,125 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drops isolated namespaces (databases, keyspaces) of finished tests in background in batches, so
+ * tests never wait for namespace drop. Namespaces are dropped per container one batch after another.
+ */
+final class NamespaceReclaimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NamespaceReclaimer.class);
+
+    private static final int BATCH_SIZE = 25;
+
+    private static final class Target {
+
+        private final Consumer<List<String>> dropper;
+        private final Deque<String> namespaces = new ArrayDeque<>();
+        private boolean scheduled = false;
+        private CompletableFuture<Void> dropping = CompletableFuture.completedFuture(null);
+
+        private Target(Consumer<List<String>> dropper) {
+            this.dropper = dropper;
+        }
+    }
+
+    private final Map<Object, Target> targets = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    NamespaceReclaimer(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Schedules namespace drop in background
+     *
+     * @param container container where namespace is created
+     * @param namespace to drop
+     * @param dropper   drops batch of namespaces in container
+     */
+    void reclaim(Object container, String namespace, Consumer<List<String>> dropper) {
+        Target target = targets.computeIfAbsent(container, ignored -> new Target(dropper));
+        synchronized (target) {
+            target.namespaces.add(namespace);
+            if (!target.scheduled) {
+                target.scheduled = true;
+                target.dropping = CompletableFuture.runAsync(() -> drop(target), executor);
+            }
+        }
+    }
+
+    /**
+     * Waits until all namespaces scheduled for container are dropped
+     *
+     * @param container container where namespaces are created
+     */
+    void flush(Object container) {
+        Target target = targets.remove(container);
+        if (target != null) {
+            CompletableFuture<Void> dropping;
+            synchronized (target) {
+                dropping = target.dropping;
+            }
+            dropping.join();
+        }
+    }
+
+    /**
+     * Waits until all scheduled namespaces are dropped
+     */
+    void flushAll() {
+        List.copyOf(targets.keySet()).forEach(this::flush);
+    }
+
+    /**
+     * Forgets namespaces that are not dropped yet and waits for batch that is being dropped, used when
+     * container is stopped and namespaces are removed with it
+     *
+     * @param container container where namespaces are created
+     */
+    void discard(Object container) {
+        Target target = targets.remove(container);
+        if (target != null) {
+            CompletableFuture<Void> dropping;
+            synchronized (target) {
+                target.namespaces.clear();
+                dropping = target.dropping;
+            }
+            dropping.join();
+        }
+    }
+
+    private static void drop(Target target) {
+        while (true) {
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            synchronized (target) {
+                while (batch.size() < BATCH_SIZE && !target.namespaces.isEmpty()) {
+                    batch.add(target.namespaces.poll());
+                }
+
+                if (batch.isEmpty()) {
+                    target.scheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                target.dropper.accept(batch);
+                logger.debug("Dropped isolated namespaces: {}", batch);
+            } catch (Exception e) {
+                logger.warn("Failed to drop isolated namespaces: {}", batch, e);
+            }
+        }
+    }
+}
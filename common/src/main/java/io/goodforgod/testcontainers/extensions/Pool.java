@@ -0,0 +1,95 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.lang.annotation.*;
+
+// @formatter:off
+/**
+ * Configures warm container pool for {@link ContainerMode#PER_METHOD} and
+ * {@link ContainerMode#PER_CLASS} containers and replicas for {@link ContainerMode#PER_RUN}
+ * containers.
+ * <p>
+ * When pool size is greater than zero, orchestrator keeps up to specified number of containers
+ * created and started in background while current test runs, so next test takes already started
+ * container instead of waiting for container boot. Used containers are stopped in background as
+ * well.
+ * <p>
+ * When recycle is enabled, used container is not stopped but reset in place by provider (database
+ * is dropped, keys are flushed, topics or buckets are deleted, etc.) and returned to pool, so single
+ * container is reused by all tests. Providers that don't support reset fall back to container
+ * restart.
+ * <p>
+ * Pool is shared by all test classes that use same provider, image and network settings. Containers
+ * provided manually via {@code @Container...} fields are never pooled.
+ * <p>
+ * When replicas are greater than one, orchestrator starts up to specified number of identical
+ * {@link ContainerMode#PER_RUN} containers and assigns each test class to one of them, so test
+ * classes running in parallel don't queue on single shared container. Test class and its nested
+ * classes use same replica until test class finishes. Replicas are started lazily when test class is
+ * assigned to replica that is not started yet, and share migration snapshot image when snapshot is
+ * enabled.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * @TestcontainersPostgreSQL(mode = ContainerMode.PER_METHOD, pool = @Pool(2))
+ * class RepositoryTests {
+ *
+ *     @ConnectionPostgreSQL
+ *     JdbcConnection connection;
+ * }
+ *
+ * @TestcontainersRedis(mode = ContainerMode.PER_METHOD, pool = @Pool(recycle = true))
+ * class CacheTests {
+ *
+ *     @ConnectionRedis
+ *     RedisConnection connection;
+ * }
+ *
+ * @TestcontainersKafka(mode = ContainerMode.PER_RUN, pool = @Pool(replicas = 3))
+ * class EventTests {
+ *
+ *     @ConnectionKafka
+ *     KafkaConnection connection;
+ * }
+ * }
+ * </pre>
+ */
+// @formatter:on
+@Documented
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Pool {
+
+    /**
+     * @return number of containers to keep started ahead, zero disables pool
+     */
+    int value() default 0;
+
+    /**
+     * @return true to reset used container in place and return it to pool instead of stopping it
+     */
+    boolean recycle() default false;
+
+    /**
+     * @return number of identical {@link ContainerMode#PER_RUN} containers test classes are spread
+     *             over, one uses single shared container
+     */
+    int replicas() default 1;
+
+    /**
+     * @return how test classes are assigned to {@link #replicas()}
+     */
+    Assignment assignment() default Assignment.LEAST_LOAD;
+
+    enum Assignment {
+        /**
+         * Test class is assigned to replica used by the least test classes at the moment, so replicas
+         * are started only when test classes run in parallel
+         */
+        LEAST_LOAD,
+        /**
+         * Test classes are assigned to replicas in turn, so all replicas are started
+         */
+        ROUND_ROBIN
+    }
+}
@@ -0,0 +1,149 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.jetbrains.annotations.ApiStatus.Internal;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * Wait strategy that repeats protocol handshake against started container, such as JDBC
+ * {@link java.sql.Connection#isValid(int)} or Redis {@code PING}, so container is handed to test as
+ * soon as it accepts requests instead of when port is open or log message is printed. Handshake is
+ * repeated with backoff that starts tight and grows while container is still booting.
+ */
+@Internal
+public final class ReadinessProbe extends AbstractWaitStrategy {
+
+    /**
+     * Protocol handshake against started container
+     */
+    @FunctionalInterface
+    public interface Handshake {
+
+        /**
+         * @param target started container
+         * @return true if container accepts requests, false or exception if container is not ready yet
+         * @throws Exception if container is not ready yet
+         */
+        boolean ready(@NotNull WaitStrategyTarget target) throws Exception;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadinessProbe.class);
+
+    static final Duration MIN_DELAY = Duration.ofMillis(10);
+    static final Duration MAX_DELAY = Duration.ofMillis(250);
+
+    private static final int SOCKET_TIMEOUT_MILLIS = 1000;
+    private static final int MAX_RESPONSE_BYTES = 64 * 1024;
+
+    private final String protocol;
+    private final Handshake handshake;
+
+    private ReadinessProbe(String protocol, Handshake handshake) {
+        this.protocol = protocol;
+        this.handshake = handshake;
+    }
+
+    /**
+     * @param protocol  name of handshake for logs, such as {@code JDBC isValid}
+     * @param handshake to repeat until container is ready
+     * @return wait strategy
+     */
+    public static ReadinessProbe of(@NotNull String protocol, @NotNull Handshake handshake) {
+        return new ReadinessProbe(protocol, handshake);
+    }
+
+    @Override
+    protected void waitUntilReady() {
+        final long started = System.nanoTime();
+        final long deadline = started + startupTimeout.toNanos();
+        Duration delay = MIN_DELAY;
+        Exception lastException = null;
+        for (int attempt = 1;; attempt++) {
+            try {
+                if (handshake.ready(waitStrategyTarget)) {
+                    logger.debug("Container ready after '{}' {} attempts in {} millis: {}",
+                            protocol, attempt, Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                            waitStrategyTarget.getContainerId());
+                    return;
+                }
+            } catch (Exception e) {
+                lastException = e;
+            }
+
+            if (!waitStrategyTarget.isRunning()) {
+                throw new ContainerLaunchException("Container exited before '%s' succeeded: %s"
+                        .formatted(protocol, waitStrategyTarget.getContainerId()), lastException);
+            }
+
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                throw new ContainerLaunchException("Container not ready after '%s' %s attempts in %s: %s"
+                        .formatted(protocol, attempt, startupTimeout, waitStrategyTarget.getContainerId()), lastException);
+            }
+
+            try {
+                Thread.sleep(Math.min(delay.toMillis(), Duration.ofNanos(left).toMillis() + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ContainerLaunchException("Interrupted while waiting for '%s': %s"
+                        .formatted(protocol, waitStrategyTarget.getContainerId()), e);
+            }
+
+            delay = nextDelay(delay);
+        }
+    }
+
+    /**
+     * Sends request over plain TCP connection and reads response until expected reply, for text
+     * protocols such as Redis {@code PING} or NATS {@code PING}
+     *
+     * @param host     to connect
+     * @param port     to connect
+     * @param request  to send
+     * @param expected reply that response contains when container is ready
+     * @return true if response contains expected reply before connection is closed
+     * @throws IOException if connection is refused or reply is not received in time
+     */
+    public static boolean handshake(@NotNull String host, int port, @NotNull String request, @NotNull String expected)
+            throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), SOCKET_TIMEOUT_MILLIS);
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.UTF_8));
+            socket.getOutputStream().flush();
+
+            InputStream input = socket.getInputStream();
+            StringBuilder response = new StringBuilder();
+            byte[] buffer = new byte[1024];
+            for (int read; response.length() < MAX_RESPONSE_BYTES && (read = input.read(buffer)) != -1;) {
+                response.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+                if (response.indexOf(expected) != -1) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * @param delay before previous attempt
+     * @return delay before next attempt, grows by half up to {@link #MAX_DELAY}
+     */
+    static Duration nextDelay(Duration delay) {
+        Duration next = delay.plus(delay.dividedBy(2));
+        return (next.compareTo(MAX_DELAY) > 0)
+                ? MAX_DELAY
+                : next;
+    }
+}
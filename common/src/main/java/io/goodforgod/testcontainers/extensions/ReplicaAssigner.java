@@ -0,0 +1,54 @@
+package io.goodforgod.testcontainers.extensions;
+
+/**
+ * Assigns test classes to replicas of {@link ContainerMode#PER_RUN} container configured via
+ * {@link Pool#replicas()}. Replica is held by test class until test class finishes, so least load
+ * assignment counts test classes that use replica at the moment.
+ */
+final class ReplicaAssigner {
+
+    private final Pool.Assignment assignment;
+    private final int[] loads;
+    private int next = 0;
+
+    ReplicaAssigner(int replicas, Pool.Assignment assignment) {
+        if (replicas < 1) {
+            throw new IllegalArgumentException("Replicas can't be less than 1, but was: " + replicas);
+        }
+
+        this.assignment = assignment;
+        this.loads = new int[replicas];
+    }
+
+    /**
+     * @return replica index assigned to test class, must be released when test class finishes
+     */
+    synchronized int acquire() {
+        final int replica;
+        if (assignment == Pool.Assignment.ROUND_ROBIN) {
+            replica = next;
+            next = (next + 1) % loads.length;
+        } else {
+            int least = 0;
+            for (int i = 1; i < loads.length; i++) {
+                if (loads[i] < loads[least]) {
+                    least = i;
+                }
+            }
+            replica = least;
+        }
+
+        loads[replica]++;
+        return replica;
+    }
+
+    synchronized void release(int replica) {
+        if (loads[replica] > 0) {
+            loads[replica]--;
+        }
+    }
+
+    synchronized int load(int replica) {
+        return loads[replica];
+    }
+}
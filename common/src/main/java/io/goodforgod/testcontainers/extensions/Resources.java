@@ -0,0 +1,59 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.lang.annotation.*;
+
+// @formatter:off
+/**
+ * Configures CPU and memory limits of container, so heavy containers such as Cassandra, Kafka or
+ * Oracle don't take all host CPUs and memory from each other and from test JVM when test classes run
+ * in parallel.
+ * <p>
+ * Limits are applied to containers created by orchestrator, containers provided manually via
+ * {@code @Container...} fields are used as is. Providers adjust container settings to configured
+ * limits where container doesn't detect them itself, such as JVM heap of Cassandra and Kafka that is
+ * sized to half of memory limit.
+ * <p>
+ * Containers with different limits are never shared, so test classes that configure different limits
+ * for same {@link ContainerMode#PER_RUN} container get different containers.
+ * <p>
+ * Example:
+ *
+ * <pre>{@code
+ * @TestcontainersCassandra(mode = ContainerMode.PER_RUN, resources = @Resources(cpus = 2, memory = "2g"))
+ * class RepositoryTests {
+ *
+ *     @ConnectionCassandra
+ *     CassandraConnection connection;
+ * }
+ *
+ * @TestcontainersKafka(mode = ContainerMode.PER_RUN, resources = @Resources(cpuset = "0-1"))
+ * class EventTests {
+ *
+ *     @ConnectionKafka
+ *     KafkaConnection connection;
+ * }
+ * }
+ * </pre>
+ */
+// @formatter:on
+@Documented
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Resources {
+
+    /**
+     * @return number of CPUs container can use, fractions allowed, zero is unlimited
+     */
+    double cpus() default 0;
+
+    /**
+     * @return memory limit of container with optional suffix {@code b}, {@code k}, {@code m} or
+     *             {@code g} (e.g. {@code 512m}), swap is disabled when limit is set, empty is unlimited
+     */
+    String memory() default "";
+
+    /**
+     * @return CPUs container is pinned to (e.g. {@code 0-3} or {@code 0,2}), empty is any CPU
+     */
+    String cpuset() default "";
+}
@@ -0,0 +1,111 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.builder.Transferable;
+
+/**
+ * Fingerprint of provider configuration and migrations content stored inside container reused
+ * across test runs, so reused container state is verified before container is used. Container
+ * state matches current run only when stored fingerprint is equal to current one, container
+ * reattached from previous run without stored fingerprint never finished its setup and doesn't match.
+ */
+final class ReuseFingerprint {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReuseFingerprint.class);
+
+    static final String LABEL = "io.goodforgod.testcontainers.extensions.reuse";
+
+    private static final String FILE = "/tmp/testcontainers-extensions.fingerprint";
+
+    private final String value;
+    private final GenericContainer<?> container;
+    private final AtomicBoolean written = new AtomicBoolean(false);
+    private volatile Instant startedAt;
+
+    private ReuseFingerprint(String value, GenericContainer<?> container) {
+        this.value = value;
+        this.container = container;
+    }
+
+    /**
+     * @param configuration provider configuration
+     * @param migrations    migrations applied after container start or null
+     * @param container     container that is not started yet
+     * @return fingerprint of container state
+     */
+    static ReuseFingerprint of(String configuration, MigrationSnapshot migrations, GenericContainer<?> container) {
+        return new ReuseFingerprint(MigrationHash.hash(configuration, migrations), container);
+    }
+
+    String value() {
+        return value;
+    }
+
+    /**
+     * Remembers docker time before container is started, so container created before it is known to
+     * be reattached from previous run, docker time is used as test JVM clock may differ from it
+     */
+    void beforeStart() {
+        try {
+            startedAt = OffsetDateTime.parse(container.getDockerClient().infoCmd().exec().getSystemTime()).toInstant();
+        } catch (Exception e) {
+            logger.debug("Failed to read docker time before container start", e);
+            startedAt = null;
+        }
+    }
+
+    /**
+     * @return true if started container was created by previous run and reattached by Testcontainers
+     *             reuse, also true when creation time is unknown
+     */
+    boolean reattached() {
+        Instant before = startedAt;
+        if (before == null) {
+            return true;
+        }
+
+        try {
+            return OffsetDateTime.parse(container.getContainerInfo().getCreated()).toInstant().isBefore(before);
+        } catch (Exception e) {
+            logger.debug("Failed to read creation time of container: {}", container.getContainerId(), e);
+            return true;
+        }
+    }
+
+    /**
+     * @return fingerprint stored in started container or null when it is not stored yet
+     */
+    String read() {
+        try {
+            Container.ExecResult result = container.execInContainer("cat", FILE);
+            return (result.getExitCode() == 0 && !result.getStdout().isBlank())
+                    ? result.getStdout().trim()
+                    : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.debug("Failed to read reuse fingerprint from container: {}", container.getContainerId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores fingerprint in container once, after container state is set up for current run
+     */
+    void write() {
+        if (written.compareAndSet(false, true)) {
+            try {
+                container.copyFileToContainer(Transferable.of(value), FILE);
+            } catch (Exception e) {
+                logger.warn("Failed to write reuse fingerprint to container: {}", container.getContainerId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Registry of shared resources that are created once per key. Resource is created in caller thread
+ * without holding any map lock, concurrent callers for same key wait for in-flight creation and
+ * receive its failure cause. Failed creation is removed from registry, so next caller retries.
+ *
+ * @param <K> key type
+ * @param <V> shared resource type
+ */
+final class SharedRegistry<K, V> {
+
+    private final Map<K, CompletableFuture<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param key     of shared resource
+     * @param factory creates resource if it is not yet created or being created
+     * @return shared resource
+     */
+    V computeIfAbsent(K key, Supplier<V> factory) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = entries.putIfAbsent(key, created);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            V value = factory.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Removes all resources, waits for resources that are being created and skips failed ones
+     *
+     * @return resources that were created
+     */
+    List<V> drain() {
+        return remove(key -> true);
+    }
+
+    /**
+     * Removes resources which keys match filter, waits for resources that are being created and skips
+     * failed ones
+     *
+     * @param filter of keys to remove
+     * @return resources that were created
+     */
+    List<V> remove(Predicate<K> filter) {
+        List<V> removed = new ArrayList<>();
+        for (K key : new ArrayList<>(entries.keySet())) {
+            CompletableFuture<V> future = filter.test(key)
+                    ? entries.remove(key)
+                    : null;
+            if (future != null) {
+                V value = future.handle((result, e) -> result).join();
+                if (value != null) {
+                    removed.add(value);
+                }
+            }
+        }
+
+        return removed;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            } else {
+                throw e;
+            }
+        }
+    }
+}
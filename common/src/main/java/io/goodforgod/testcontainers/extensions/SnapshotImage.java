@@ -0,0 +1,146 @@
+package io.goodforgod.testcontainers.extensions;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Local image with container state after migrations, tagged with hash of base image, migration engine
+ * and content of migration locations. Container is committed to image after first successful
+ * migration, later runs with unchanged hash start from image and skip migration. Images of same base
+ * image, migration engine and locations with other hashes are stale and removed after commit, images
+ * of other engines or locations are kept, so test classes with different migrations keep their own
+ * snapshots.
+ */
+final class SnapshotImage {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotImage.class);
+
+    private static final String LABEL = "io.goodforgod.testcontainers.extensions.snapshot";
+    private static final String MIGRATIONS_LABEL = "io.goodforgod.testcontainers.extensions.snapshot.migrations";
+    private static final String REPOSITORY_PREFIX = "testcontainers-extensions/snapshot-";
+
+    private final String repository;
+    private final String tag;
+    private final String migrations;
+    private final boolean restored;
+    private final GenericContainer<?> container;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private SnapshotImage(String repository, String tag, String migrations, boolean restored, GenericContainer<?> container) {
+        this.repository = repository;
+        this.tag = tag;
+        this.migrations = migrations;
+        this.restored = restored;
+        this.container = container;
+    }
+
+    /**
+     * @param baseImage image container is created from
+     * @param snapshot  migrations applied after container start
+     * @param container container that is not started yet
+     * @return snapshot image, restored if snapshot image already exists locally
+     */
+    static SnapshotImage of(String baseImage, MigrationSnapshot snapshot, GenericContainer<?> container) {
+        String repository = REPOSITORY_PREFIX + baseImage.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "-");
+        String tag = hash(baseImage, snapshot);
+        boolean restored = exists(repository + ":" + tag);
+        return new SnapshotImage(repository, tag, migrations(snapshot), restored, container);
+    }
+
+    String image() {
+        return repository + ":" + tag;
+    }
+
+    boolean restored() {
+        return restored;
+    }
+
+    /**
+     * @return true only for first container start, migrations of restored container are already
+     *             applied then
+     */
+    boolean firstStart() {
+        return started.compareAndSet(false, true);
+    }
+
+    /**
+     * Commits migrated container to snapshot image and removes stale snapshot images of same base image
+     * and migrations
+     */
+    void commit() {
+        if (restored) {
+            return;
+        }
+
+        DockerClient client = DockerClientFactory.instance().client();
+        try {
+            logger.debug("Committing container {} to snapshot image: {}", container.getContainerId(), image());
+            client.commitCmd(container.getContainerId())
+                    .withRepository(repository)
+                    .withTag(tag)
+                    .withLabels(Map.of(LABEL, repository, MIGRATIONS_LABEL, migrations))
+                    .exec();
+            logger.info("Committed container {} to snapshot image: {}", container.getContainerId(), image());
+        } catch (Exception e) {
+            logger.warn("Failed to commit container {} to snapshot image: {}", container.getContainerId(), image(), e);
+            return;
+        }
+
+        for (Image stale : client.listImagesCmd()
+                .withLabelFilter(Map.of(LABEL, repository, MIGRATIONS_LABEL, migrations))
+                .exec()) {
+            String[] repoTags = stale.getRepoTags();
+            if (repoTags == null || !Arrays.asList(repoTags).contains(image())) {
+                try {
+                    client.removeImageCmd(stale.getId()).withForce(true).exec();
+                    logger.debug("Removed stale snapshot image: {}", Arrays.toString(repoTags));
+                } catch (Exception e) {
+                    logger.warn("Failed to remove stale snapshot image: {}", Arrays.toString(repoTags), e);
+                }
+            }
+        }
+    }
+
+    private static boolean exists(String image) {
+        try {
+            DockerClientFactory.instance().client().inspectImageCmd(image).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param snapshot migrations applied after container start
+     * @return hash of migration engine and locations without their content, same for snapshots that
+     *             differ only by content of migrations
+     */
+    static String migrations(MigrationSnapshot snapshot) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(snapshot.engine().getBytes(StandardCharsets.UTF_8));
+            for (String location : snapshot.locations()) {
+                digest.update((byte) 0);
+                digest.update(location.getBytes(StandardCharsets.UTF_8));
+            }
+
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    static String hash(String baseImage, MigrationSnapshot snapshot) {
+        return MigrationHash.hash(baseImage, snapshot);
+    }
+}
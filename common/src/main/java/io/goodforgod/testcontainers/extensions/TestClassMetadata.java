@@ -0,0 +1,100 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.util.ReflectionUtils;
+
+/**
+ * Reflective metadata of test class that is resolved once per class: annotations found in class
+ * hierarchy and annotated fields split into instance and static ones
+ */
+final class TestClassMetadata {
+
+    private static final Map<Class<?>, TestClassMetadata> CACHE = new ConcurrentHashMap<>();
+
+    private final Class<?> testClass;
+    private final Map<Class<? extends Annotation>, List<Field>> fields;
+    private final Map<Class<? extends Annotation>, List<Field>> instanceFields;
+    private final Map<Class<? extends Annotation>, List<Field>> staticFields;
+    private final Map<Class<? extends Annotation>, Optional<? extends Annotation>> annotations = new ConcurrentHashMap<>();
+
+    private TestClassMetadata(Class<?> testClass) {
+        this.testClass = testClass;
+
+        Map<Class<? extends Annotation>, List<Field>> annotated = new HashMap<>();
+        for (Field field : ReflectionUtils.findFields(testClass, field -> !field.isSynthetic(),
+                ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)) {
+            for (Annotation annotation : field.getAnnotations()) {
+                annotated.computeIfAbsent(annotation.annotationType(), k -> new ArrayList<>()).add(field);
+            }
+        }
+
+        this.fields = immutable(annotated, field -> true);
+        this.instanceFields = immutable(annotated, field -> !Modifier.isStatic(field.getModifiers()));
+        this.staticFields = immutable(annotated, field -> Modifier.isStatic(field.getModifiers()));
+    }
+
+    static TestClassMetadata of(Class<?> testClass) {
+        return CACHE.computeIfAbsent(testClass, TestClassMetadata::new);
+    }
+
+    /**
+     * @param annotationType to look for in class and its superclasses
+     * @return annotation if present
+     */
+    <A extends Annotation> Optional<A> annotation(Class<A> annotationType) {
+        return (Optional<A>) annotations.computeIfAbsent(annotationType, this::findAnnotation);
+    }
+
+    /**
+     * @param annotationType field annotation
+     * @return all fields annotated in class hierarchy, superclass fields first
+     */
+    List<Field> fields(Class<? extends Annotation> annotationType) {
+        return fields.getOrDefault(annotationType, List.of());
+    }
+
+    /**
+     * @param annotationType field annotation
+     * @return non-static fields annotated in class hierarchy, superclass fields first
+     */
+    List<Field> instanceFields(Class<? extends Annotation> annotationType) {
+        return instanceFields.getOrDefault(annotationType, List.of());
+    }
+
+    /**
+     * @param annotationType field annotation
+     * @return static fields annotated in class hierarchy, superclass fields first
+     */
+    List<Field> staticFields(Class<? extends Annotation> annotationType) {
+        return staticFields.getOrDefault(annotationType, List.of());
+    }
+
+    private <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType) {
+        Class<?> requiredClass = testClass;
+        while (!requiredClass.equals(Object.class)) {
+            Optional<A> annotation = AnnotationSupport.findAnnotation(requiredClass, annotationType);
+            if (annotation.isPresent()) {
+                return annotation;
+            }
+
+            requiredClass = requiredClass.getSuperclass();
+        }
+
+        return Optional.empty();
+    }
+
+    private static Map<Class<? extends Annotation>, List<Field>> immutable(Map<Class<? extends Annotation>, List<Field>> fields,
+                                                                           Predicate<Field> filter) {
+        Map<Class<? extends Annotation>, List<Field>> filtered = new HashMap<>();
+        fields.forEach((annotationType, annotatedFields) -> filtered.put(annotationType, annotatedFields.stream()
+                .filter(filter)
+                .toList()));
+        return Map.copyOf(filtered);
+    }
+}
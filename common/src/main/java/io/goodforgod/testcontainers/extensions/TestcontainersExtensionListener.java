@@ -1,7 +1,20 @@
 package io.goodforgod.testcontainers.extensions;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.ApiStatus.Internal;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.platform.engine.support.descriptor.ClassSource;
 import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
 import org.junit.platform.launcher.TestPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,18 +22,291 @@
 @Internal
 public final class TestcontainersExtensionListener implements TestExecutionListener {
 
+    /**
+     * Configuration parameter that enables background start of {@link ContainerMode#PER_RUN}
+     * containers for all test classes in test plan when test plan execution starts
+     */
+    public static final String PRESTART_ENABLED = "testcontainers.extensions.prestart.enabled";
+
+    /**
+     * Configuration parameter that enables pull of images of all test classes in test plan when test
+     * plan execution starts, images that are present locally are not pulled
+     */
+    public static final String PULL_ENABLED = "testcontainers.extensions.pull.enabled";
+
+    /**
+     * Configuration parameter with max images pulled at once, by default {@code 4}
+     */
+    public static final String PULL_PARALLELISM = "testcontainers.extensions.pull.parallelism";
+
+    /**
+     * Configuration parameter that enables stop of {@link ContainerMode#PER_RUN} containers as soon as
+     * the last test class in test plan that uses them finishes, instead of when test plan execution
+     * finishes
+     */
+    public static final String REAPER_ENABLED = "testcontainers.extensions.reaper.enabled";
+
+    /**
+     * Configuration parameter with number of next test classes in test plan which
+     * {@link ContainerMode#PER_CLASS} containers are started in background while current test class
+     * runs, by default {@code 0} that disables lookahead
+     */
+    public static final String LOOKAHEAD_DEPTH = "testcontainers.extensions.lookahead.depth";
+
+    /**
+     * Configuration parameter that enables pause of {@link ContainerMode#PER_RUN} containers while no
+     * running test class uses them, container is unpaused when test class uses it again
+     */
+    public static final String PAUSE_ENABLED = "testcontainers.extensions.pause.enabled";
+
+    /**
+     * Configuration parameter that keeps {@link ContainerMode#PER_RUN} containers running after test
+     * run, so next run reuses them after their state fingerprint is verified, requires Testcontainers
+     * reuse to be enabled
+     */
+    public static final String REUSE_VERIFIED_ENABLED = "testcontainers.extensions.reuse.verified.enabled";
+
+    /**
+     * Configuration parameter that enables sharing of {@link ContainerMode#PER_RUN} containers between
+     * test JVM forks, requires Testcontainers reuse to be enabled
+     */
+    public static final String FORKS_SHARED_ENABLED = "testcontainers.extensions.forks.shared.enabled";
+
+    /**
+     * Configuration parameter with directory of registry for containers shared between test JVM forks,
+     * by default {@code build/testcontainers-extensions/forks}
+     */
+    public static final String FORKS_REGISTRY_DIRECTORY = "testcontainers.extensions.forks.registry.directory";
+
+    /**
+     * Configuration parameter with seconds fork waits for shared container that other fork is stopping
+     * before test class fails, by default {@code 60}
+     */
+    public static final String FORKS_STOPPING_TIMEOUT = "testcontainers.extensions.forks.stopping.timeout";
+
+    /**
+     * Configuration parameter that enables recording of container lifecycle phase timings, report is
+     * written as JSON and logged as summary when test plan execution finishes
+     */
+    public static final String TIMINGS_ENABLED = "testcontainers.extensions.timings.enabled";
+
+    /**
+     * Configuration parameter with directory where timings report {@code timings-<pid>.json} is
+     * written, by default {@code build/testcontainers-extensions}
+     */
+    public static final String TIMINGS_DIRECTORY = "testcontainers.extensions.timings.directory";
+
+    private volatile LifecycleTimings timings;
+    private volatile Path timingsDirectory;
+    private volatile TestPlan testPlan;
+    private volatile boolean reaper;
+    private volatile int lookaheadDepth;
+    private volatile List<TestIdentifier> lookaheadClasses = List.of();
+    private volatile Map<String, Integer> lookaheadPositions = Map.of();
+    private final Set<String> startedClasses = ConcurrentHashMap.newKeySet();
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        boolean timingsEnabled = testPlan.getConfigurationParameters().getBoolean(TIMINGS_ENABLED).orElse(false);
+        if (timingsEnabled) {
+            timingsDirectory = Path.of(testPlan.getConfigurationParameters().get(TIMINGS_DIRECTORY)
+                    .orElse("build/testcontainers-extensions"));
+            timings = TestcontainersOrchestratorExtension.recordTimings();
+        }
+
+        boolean reuseVerified = testPlan.getConfigurationParameters().getBoolean(REUSE_VERIFIED_ENABLED).orElse(false);
+        if (reuseVerified) {
+            TestcontainersOrchestratorExtension.reuseVerified();
+        }
+
+        boolean forksShared = testPlan.getConfigurationParameters().getBoolean(FORKS_SHARED_ENABLED).orElse(false);
+        if (forksShared) {
+            Path directory = Path.of(testPlan.getConfigurationParameters().get(FORKS_REGISTRY_DIRECTORY)
+                    .orElse("build/testcontainers-extensions/forks"));
+            int stoppingTimeout = intParameter(testPlan, FORKS_STOPPING_TIMEOUT,
+                    (int) ForkRegistry.STOPPING_TIMEOUT.toSeconds(), 1);
+            TestcontainersOrchestratorExtension.shareAcrossForks(directory, Duration.ofSeconds(stoppingTimeout));
+        }
+
+        boolean pause = testPlan.getConfigurationParameters().getBoolean(PAUSE_ENABLED).orElse(false);
+        if (pause) {
+            TestcontainersOrchestratorExtension.pauseIdle();
+        }
+
+        this.testPlan = testPlan;
+        reaper = testPlan.getConfigurationParameters().getBoolean(REAPER_ENABLED).orElse(false);
+        if (reaper) {
+            List<Class<?>> classExecutions = new ArrayList<>();
+            testPlan.getRoots().forEach(root -> classExecutions.addAll(classExecutions(testPlan, root)));
+            logger.debug("Reaping idle containers in mode '{}' after {} test class executions",
+                    ContainerMode.PER_RUN, classExecutions.size());
+            TestcontainersOrchestratorExtension.reapIdle(classExecutions);
+        }
+
+        lookaheadDepth = intParameter(testPlan, LOOKAHEAD_DEPTH, 0, 0);
+        if (lookaheadDepth > 0) {
+            List<TestIdentifier> classes = new ArrayList<>();
+            Map<String, Integer> positions = new ConcurrentHashMap<>();
+            for (TestIdentifier root : testPlan.getRoots()) {
+                for (TestIdentifier child : testPlan.getChildren(root)) {
+                    if (child.getSource().filter(ClassSource.class::isInstance).isPresent()) {
+                        positions.put(child.getUniqueId(), classes.size());
+                        classes.add(child);
+                    }
+                }
+            }
+
+            logger.debug("Starting ahead in mode '{}' containers of next {} test classes",
+                    ContainerMode.PER_CLASS, lookaheadDepth);
+            lookaheadClasses = classes;
+            lookaheadPositions = positions;
+        }
+
+        boolean pull = testPlan.getConfigurationParameters().getBoolean(PULL_ENABLED).orElse(false);
+        boolean prestart = testPlan.getConfigurationParameters().getBoolean(PRESTART_ENABLED).orElse(false);
+        Set<Class<?>> testClasses = (pull || prestart)
+                ? testClasses(testPlan)
+                : Set.of();
+        if (pull) {
+            int parallelism = intParameter(testPlan, PULL_PARALLELISM, 4, 1);
+            logger.debug("Pulling images for {} test classes with parallelism {}", testClasses.size(), parallelism);
+            TestcontainersOrchestratorExtension.pullImages(testClasses, parallelism);
+        }
+
+        if (prestart) {
+            logger.debug("Prestarting in mode '{}' containers for {} test classes", ContainerMode.PER_RUN, testClasses.size());
+            TestcontainersOrchestratorExtension.prestartPerRun(testClasses);
+        }
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        Integer position = lookaheadPositions.get(testIdentifier.getUniqueId());
+        if (position == null) {
+            return;
+        }
+
+        startedClasses.add(testIdentifier.getUniqueId());
+        List<TestIdentifier> classes = lookaheadClasses;
+        for (int i = position + 1; i < classes.size() && i <= position + lookaheadDepth; i++) {
+            TestIdentifier next = classes.get(i);
+            if (!startedClasses.contains(next.getUniqueId())) {
+                next.getSource()
+                        .map(source -> ((ClassSource) source).getJavaClass())
+                        .ifPresent(TestcontainersOrchestratorExtension::lookahead);
+            }
+        }
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        TestPlan plan = testPlan;
+        if (plan != null && testIdentifier.isContainer() && (reaper || lookaheadDepth > 0)) {
+            // descendants of skipped test class are not reported as skipped
+            List<Class<?>> skipped = classExecutions(plan, testIdentifier);
+            if (reaper) {
+                TestcontainersOrchestratorExtension.reapSkipped(skipped);
+            }
+            if (lookaheadDepth > 0) {
+                startedClasses.add(testIdentifier.getUniqueId());
+                TestcontainersOrchestratorExtension.discardLookahead(skipped);
+            }
+        }
+    }
+
     @Override
     public void testPlanExecutionFinished(TestPlan testPlan) {
-        for (var imageToContainers : AbstractTestcontainersExtension.CLASS_TO_SHARED_CONTAINERS.entrySet()) {
-            for (var imageToContainer : imageToContainers.getValue().entrySet()) {
-                logger.debug("Stopping in mode '{}' container: {}", ContainerMode.PER_RUN, imageToContainer.getValue());
-                imageToContainer.getValue().stop();
-                logger.info("Stopped in mode '{}' container: {}", ContainerMode.PER_RUN, imageToContainer.getValue());
+        this.testPlan = null;
+        lookaheadClasses = List.of();
+        lookaheadPositions = Map.of();
+        startedClasses.clear();
+        TestcontainersOrchestratorExtension.stopLookahead();
+        for (var sharedContainers : AbstractTestcontainersExtension.CLASS_TO_SHARED_CONTAINERS.values()) {
+            for (var sharedContainer : sharedContainers.drain()) {
+                if (TestcontainersOrchestratorExtension.releaseShared(sharedContainer)) {
+                    TestcontainersOrchestratorExtension.stopInBackground(sharedContainer, ContainerMode.PER_RUN);
+                }
             }
         }
 
+        TestcontainersOrchestratorExtension.stopPooled();
         TestcontainersOrchestratorExtension.stopPerRun();
+        List<Throwable> stopFailures = TestcontainersOrchestratorExtension.awaitStopped();
+        if (!stopFailures.isEmpty()) {
+            var failure = new IllegalStateException(stopFailures.size() + " containers failed to stop in background");
+            stopFailures.forEach(failure::addSuppressed);
+            logger.error("Failed to stop containers at test plan end", failure);
+        }
+        if (timings != null) {
+            Path report = timingsDirectory.resolve("timings-" + ProcessHandle.current().pid() + ".json");
+            try {
+                timings.write(report);
+                logger.info("{}\nTimings report: {}", timings.summary(), report.toAbsolutePath());
+            } catch (Exception e) {
+                logger.warn("Failed to write timings report: {}", report, e);
+            }
+        }
+    }
+
+    /**
+     * @param testPlan     with configuration parameters
+     * @param key          of configuration parameter
+     * @param defaultValue used when parameter is not set
+     * @param min          minimal allowed value
+     * @return configured value
+     */
+    static int intParameter(TestPlan testPlan, String key, int defaultValue, int min) {
+        Optional<String> value = testPlan.getConfigurationParameters().get(key);
+        if (value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            int parsed = Integer.parseInt(value.get().trim());
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // rejected below with configuration error
+        }
+
+        throw new ExtensionConfigurationException("Configuration parameter '%s' must be integer not less than %s, but was: %s"
+                .formatted(key, min, value.get()));
+    }
+
+    private static Set<Class<?>> testClasses(TestPlan testPlan) {
+        Set<Class<?>> testClasses = new LinkedHashSet<>();
+        for (TestIdentifier root : testPlan.getRoots()) {
+            for (TestIdentifier identifier : testPlan.getDescendants(root)) {
+                identifier.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getJavaClass())
+                        .filter(testClass -> !testClass.isAnnotationPresent(Disabled.class))
+                        .ifPresent(testClasses::add);
+            }
+        }
+
+        return testClasses;
+    }
+
+    /**
+     * @return test classes of identifier and its descendants, class is present once per its execution
+     *             including disabled classes that are reported as skipped
+     */
+    private static List<Class<?>> classExecutions(TestPlan testPlan, TestIdentifier identifier) {
+        List<Class<?>> testClasses = new ArrayList<>();
+        List<TestIdentifier> identifiers = new ArrayList<>();
+        identifiers.add(identifier);
+        identifiers.addAll(testPlan.getDescendants(identifier));
+        for (TestIdentifier current : identifiers) {
+            current.getSource()
+                    .filter(ClassSource.class::isInstance)
+                    .map(source -> ((ClassSource) source).getJavaClass())
+                    .ifPresent(testClasses::add);
+        }
+
+        return testClasses;
     }
 }
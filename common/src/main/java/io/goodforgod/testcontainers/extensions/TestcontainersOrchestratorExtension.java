@@ -5,20 +5,26 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.*;
-import org.junit.platform.commons.support.AnnotationSupport;
-import org.junit.platform.commons.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 @Internal
 public final class TestcontainersOrchestratorExtension
@@ -29,36 +35,116 @@
         AfterEachCallback,
         ParameterResolver {
 
-    private record SharedKey(Class<?> provider, String image, boolean network, String alias, Object networkInstance) {}
+    private record SharedKey(Class<?> provider,
+                             String image,
+                             boolean network,
+                             String alias,
+                             Object networkInstance,
+                             Resources resources,
+                             int replica) {
+
+        private SharedKey replica(int replica) {
+            return new SharedKey(provider, image, network, alias, networkInstance, resources, replica);
+        }
+    }
+
+    private record ReplicaKey(SharedKey key) {}
+
+    private record ReplicaLease(ReplicaAssigner assigner, int replica) implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            assigner.release(replica);
+        }
+    }
 
     private record ActiveProvider<A extends Annotation, C> (TestcontainersProvider<A, C> provider, A annotation) {}
 
     private record IsolationKey(Class<?> provider, String uniqueId) {}
 
+    private record MethodStateKey(String uniqueId) {}
+
+    private record FailedKey(String uniqueId) {}
+
+    /**
+     * Namespaces are prepared by provider annotation of test class, so test classes that share container
+     * with other isolation or migration settings never take namespaces prepared for each other
+     */
+    private record PrefetchKey(ContainerContext<?> context, Annotation annotation) {}
+
+    private record LookaheadKey(Class<?> testClass, Class<? extends Annotation> provider) {}
+
+    private record PauseKey(ContainerContext<?> context) {}
+
+    private record PauseLease(IdlePauser<ContainerContext<?>> pauser, ContainerContext<?> context)
+            implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            pauser.release(context);
+        }
+    }
+
+    private record ForkNamespace(ActiveContext<?> active, ExtensionContext root) {}
+
     private static final class ActiveContext<C> {
 
         private final TestcontainersProvider<?, C> provider;
         private final Annotation annotation;
         private final ContainerMode mode;
         private final ContainerContext<C> context;
+        private final WarmPool<ContainerContext<?>> pool;
+        private final SnapshotImage snapshot;
+        // container from test class field may be started again by next test class that declares same field
+        private final boolean fromField;
+        private final Leases leases = new Leases();
 
         private ActiveContext(TestcontainersProvider<?, C> provider,
                               Annotation annotation,
                               ContainerMode mode,
                               ContainerContext<C> context) {
+            this(provider, annotation, mode, context, null, null);
+        }
+
+        private ActiveContext(TestcontainersProvider<?, C> provider,
+                              Annotation annotation,
+                              ContainerMode mode,
+                              ContainerContext<C> context,
+                              WarmPool<ContainerContext<?>> pool,
+                              SnapshotImage snapshot) {
+            this(provider, annotation, mode, context, pool, snapshot, false);
+        }
+
+        private ActiveContext(TestcontainersProvider<?, C> provider,
+                              Annotation annotation,
+                              ContainerMode mode,
+                              ContainerContext<C> context,
+                              WarmPool<ContainerContext<?>> pool,
+                              SnapshotImage snapshot,
+                              boolean fromField) {
             this.provider = provider;
             this.annotation = annotation;
             this.mode = mode;
             this.context = context;
+            this.pool = pool;
+            this.snapshot = snapshot;
+            this.fromField = fromField;
         }
     }
 
+    /**
+     * Isolated connection with its namespace inside shared container
+     */
     private static final class ConnectionOnlyContext<C> implements ContainerContext<C> {
 
         private final C connection;
+        private final String namespace;
+        private final ContainerContext<C> container;
 
-        private ConnectionOnlyContext(C connection) {
+        private ConnectionOnlyContext(C connection, String namespace, ContainerContext<C> container) {
             this.connection = connection;
+            this.namespace = namespace;
+            this.container = container;
         }
 
         @Override
@@ -73,62 +159,128 @@ public void start() {}
         public void stop() {}
     }
 
+    /**
+     * State of test class, or of test method for {@link ContainerMode#PER_METHOD} containers, so test
+     * methods running in parallel never share method containers
+     */
     private static final class OrchestrationState {
 
-        private final Map<Class<? extends Annotation>, ActiveContext<?>> contexts = new LinkedHashMap<>();
-        private final Set<ContainerMode> modesStarted = EnumSet.noneOf(ContainerMode.class);
-        private final Set<String> beforeEachHooked = new HashSet<>();
-        private final Set<String> afterEachHooked = new HashSet<>();
+        private final Map<Class<? extends Annotation>, ActiveContext<?>> contexts = new ConcurrentHashMap<>();
+        private final Set<ContainerMode> modesStarted = ConcurrentHashMap.newKeySet();
+        private final Set<String> beforeEachHooked = ConcurrentHashMap.newKeySet();
+        private final Set<String> afterEachHooked = ConcurrentHashMap.newKeySet();
+        private final List<ActiveContext<?>> leased = new CopyOnWriteArrayList<>();
     }
 
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
             .create(TestcontainersOrchestratorExtension.class);
 
+    private static final String REPLICA_LABEL = "io.goodforgod.testcontainers.extensions.replica";
+
     private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
         Thread thread = new Thread(r, "testcontainers-orchestrator");
         thread.setDaemon(true);
         return thread;
     });
 
-    private static final Map<SharedKey, ActiveContext<?>> SHARED_PER_RUN = new ConcurrentHashMap<>();
-
-    private final Logger logger = LoggerFactory.getLogger(getClass());
-    private final List<TestcontainersProvider<?, ?>> providers = loadProviders();
+    private static final SharedRegistry<SharedKey, ActiveContext<?>> SHARED_PER_RUN = new SharedRegistry<>();
+    private static final List<CompletableFuture<?>> PRESTARTED = new CopyOnWriteArrayList<>();
+    private static final Map<SharedKey, WarmPool<ContainerContext<?>>> POOLS = new ConcurrentHashMap<>();
+    private static final Map<SharedKey, ReplicaAssigner> REPLICAS = new ConcurrentHashMap<>();
+    private static final Map<LookaheadKey, CompletableFuture<ActiveContext<?>>> LOOKAHEAD = new ConcurrentHashMap<>();
+    private static final Set<Class<?>> LOOKAHEAD_CLASSES = ConcurrentHashMap.newKeySet();
+    private static final Map<PrefetchKey, WarmPool<ConnectionOnlyContext<?>>> PREFETCHED = new ConcurrentHashMap<>();
+    private static final NamespaceReclaimer RECLAIMER = new NamespaceReclaimer(EXECUTOR);
+    private static final Map<ContainerContext<?>, String> FORK_KEYS = new ConcurrentHashMap<>();
+    // containers released by last fork, other forks wait until their stop finishes
+    private static final Map<ContainerContext<?>, String> FORK_STOPPING = new ConcurrentHashMap<>();
+    private static final SharedRegistry<ContainerContext<?>, ForkNamespace> FORK_NAMESPACES = new SharedRegistry<>();
+    private static final Map<ContainerContext<?>, ReuseFingerprint> REUSED = new ConcurrentHashMap<>();
+    private static volatile ForkRegistry FORKS = null;
+    private static volatile boolean reuseVerified = false;
+    private static volatile LifecycleTimings TIMINGS = null;
+    private static volatile IdleReaper<SharedKey> REAPER = null;
+    private static volatile IdlePauser<ContainerContext<?>> PAUSER = null;
+
+    private static final List<TestcontainersProvider<?, ?>> PROVIDERS = loadProviders();
+    private static final Map<Class<? extends Annotation>, TestcontainersProvider<?, ?>> ANNOTATION_TO_PROVIDER = PROVIDERS
+            .stream()
+            .collect(Collectors.toMap(TestcontainersProvider::annotationType, provider -> provider, (first, second) -> first));
+
+    private static final Set<CompletableFuture<Void>> STOPPING = ConcurrentHashMap.newKeySet();
+    private static final Queue<Throwable> STOP_FAILURES = new ConcurrentLinkedQueue<>();
+
+    private static final Logger logger = LoggerFactory.getLogger(TestcontainersOrchestratorExtension.class);
 
     @Override
     public void beforeAll(ExtensionContext context) {
-        validateIsolationLifecycle(context);
-        start(context, ContainerMode.PER_RUN, ContainerMode.PER_CLASS);
+        try {
+            validateIsolationLifecycle(context);
+            start(context, ContainerMode.PER_RUN, ContainerMode.PER_CLASS);
+        } catch (RuntimeException e) {
+            discardLookahead(context);
+            throw e;
+        }
     }
 
     @Override
     public void beforeEach(ExtensionContext context) {
         validateIsolationLifecycle(context);
         start(context, ContainerMode.PER_RUN, ContainerMode.PER_CLASS);
+        adoptPerMethod(context);
         start(context, ContainerMode.PER_METHOD);
-        OrchestrationState state = state(context);
-        if (state.beforeEachHooked.add(context.getUniqueId())) {
-            runContextHooks(context, effectiveContexts(context, new ArrayList<>(state.contexts.values())), false,
-                    TestcontainersOrchestratorExtension::beforeEachUnchecked);
+        if (hookState(context).beforeEachHooked.add(context.getUniqueId())) {
+            runBeforeEachHooks(context);
         }
         injectAll(context);
     }
 
     @Override
     public void afterEach(ExtensionContext context) {
-        OrchestrationState state = state(context);
-        if (state.afterEachHooked.add(context.getUniqueId())) {
-            List<ActiveContext<?>> contexts = effectiveContexts(context, new ArrayList<>(state.contexts.values()));
-            runContextHooks(context, contexts, true,
-                    TestcontainersOrchestratorExtension::afterEachUnchecked);
-            closeIsolatedContexts(context, contexts);
+        if (context.getExecutionException().isPresent()) {
+            ExtensionContext classContext = classContext(context);
+            classContext.getStore(NAMESPACE).put(new FailedKey(classContext.getUniqueId()), true);
+        }
+
+        try {
+            if (hookState(context).afterEachHooked.add(context.getUniqueId())) {
+                List<ActiveContext<?>> contexts = effectiveContexts(context, contexts(context));
+                runAfterEachHooks(context, contexts);
+                closeIsolatedContexts(context, contexts);
+            }
+            stop(context, ContainerMode.PER_METHOD);
+        } finally {
+            // nothing is kept per test invocation after it finished, so memory stays constant per class
+            if (context.getTestMethod().isPresent()) {
+                context.getStore(NAMESPACE).remove(new MethodStateKey(context.getUniqueId()));
+            }
         }
-        stop(context, ContainerMode.PER_METHOD);
     }
 
     @Override
     public void afterAll(ExtensionContext context) {
-        stop(context, ContainerMode.PER_CLASS);
+        try {
+            closeClassIsolatedContexts(context);
+            // method containers started for test instance constructor but never taken by test method
+            stop(context, ContainerMode.PER_METHOD);
+            stop(context, ContainerMode.PER_CLASS);
+        } finally {
+            discardLookahead(context);
+            IdleReaper<SharedKey> reaper = REAPER;
+            if (reaper != null && context.getTestClass().isPresent()) {
+                reap(context, reaper, List.of(context.getRequiredTestClass()));
+            }
+        }
+    }
+
+    /**
+     * Containers started ahead that test class didn't take, because its beforeAll failed before
+     * taking them, are stopped when test class finishes instead of when test plan finishes
+     */
+    private static void discardLookahead(ExtensionContext context) {
+        if (!LOOKAHEAD.isEmpty() && context.getTestClass().isPresent()) {
+            discardLookahead(List.of(context.getRequiredTestClass()));
+        }
     }
 
     @Override
@@ -162,16 +314,17 @@ public Object resolveParameter(ParameterContext parameterContext, ExtensionConte
         ContainerMode mode = mode(activeProvider);
         if (mode == ContainerMode.PER_METHOD) {
             start(extensionContext, ContainerMode.PER_METHOD);
-            OrchestrationState state = state(extensionContext);
-            if (state.beforeEachHooked.add(extensionContext.getUniqueId())) {
-                effectiveContexts(extensionContext, new ArrayList<>(state.contexts.values()))
-                        .forEach(active -> beforeEachUnchecked(active, extensionContext));
+            if (hookState(extensionContext).beforeEachHooked.add(extensionContext.getUniqueId())) {
+                runBeforeEachHooks(extensionContext);
             }
         } else {
             start(extensionContext, ContainerMode.PER_RUN, ContainerMode.PER_CLASS);
         }
 
-        ActiveContext<?> active = state(extensionContext).contexts.get(provider.annotationType());
+        ActiveContext<?> active = contexts(extensionContext).stream()
+                .filter(started -> started.provider.annotationType().equals(provider.annotationType()))
+                .findFirst()
+                .orElse(null);
         if (active == null) {
             throw new ParameterResolutionException("Container context not started for " + provider.annotationType().getName());
         }
@@ -179,9 +332,364 @@ public Object resolveParameter(ParameterContext parameterContext, ExtensionConte
         return resolveUnchecked(effectiveContext(extensionContext, active), parameterContext);
     }
 
+    static void stopPooled() {
+        CompletableFuture.allOf(POOLS.values().stream()
+                .map(pool -> CompletableFuture.runAsync(pool::close, EXECUTOR))
+                .toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+        POOLS.clear();
+    }
+
+    /**
+     * Stops all {@link ContainerMode#PER_RUN} containers in parallel in background, use
+     * {@link #awaitStopped()} to wait for them
+     */
     static void stopPerRun() {
-        SHARED_PER_RUN.values().forEach(TestcontainersOrchestratorExtension::stopUnchecked);
-        SHARED_PER_RUN.clear();
+        PRESTARTED.forEach(future -> future.handle((result, e) -> null).join());
+        PRESTARTED.clear();
+        REAPER = null;
+        List<ActiveContext<?>> perRun = SHARED_PER_RUN.drain();
+        IdlePauser<ContainerContext<?>> pauser = PAUSER;
+        PAUSER = null;
+        if (pauser != null) {
+            // paused containers are unpaused first, so their namespaces are dropped and reused ones stay usable
+            perRun.forEach(active -> pauser.resume(active.context));
+        }
+        List.copyOf(PREFETCHED.keySet()).forEach(key -> closePrefetched(key.context()));
+        FORK_NAMESPACES.drain().forEach(TestcontainersOrchestratorExtension::closeForkNamespace);
+        // reused containers outlive test run, so their namespaces are dropped before stop
+        RECLAIMER.flushAll();
+        perRun.stream()
+                .filter(active -> releaseForStop(active.context))
+                .forEach(active -> stopInBackground(active.context, ContainerMode.PER_RUN));
+    }
+
+    /**
+     * Records wall-clock timings of container lifecycle phases per provider and test class
+     *
+     * @return timings that are recorded from now on
+     */
+    static LifecycleTimings recordTimings() {
+        LifecycleTimings timings = new LifecycleTimings();
+        TIMINGS = timings;
+        return timings;
+    }
+
+    /**
+     * Pauses {@link ContainerMode#PER_RUN} containers while no running test class uses them and
+     * unpauses them when test class uses them again
+     */
+    static void pauseIdle() {
+        PAUSER = new IdlePauser<>(EXECUTOR, TestcontainersOrchestratorExtension::beforePause);
+    }
+
+    /**
+     * Namespaces prefetched in background and their pending drops would hang on paused container, so
+     * prefetch pool is closed and drops are awaited before container is paused, pool is created again
+     * when test class takes namespace after container is unpaused
+     */
+    private static void beforePause(ContainerContext<?> context) {
+        closePrefetched(context);
+        RECLAIMER.flush(context);
+    }
+
+    /**
+     * Stops {@link ContainerMode#PER_RUN} containers as soon as the last test class of test plan that
+     * uses them finishes, so containers used only by first test classes don't hold memory until test
+     * plan execution finishes
+     *
+     * @param testClasses test classes of test plan, class is present once per its execution
+     */
+    static void reapIdle(Collection<Class<?>> testClasses) {
+        TestcontainersOrchestratorExtension orchestrator = new TestcontainersOrchestratorExtension();
+        IdleReaper<SharedKey> reaper = new IdleReaper<>();
+        for (Class<?> testClass : testClasses) {
+            orchestrator.reapKeys(testClass).forEach(reaper::expect);
+        }
+
+        REAPER = reaper;
+    }
+
+    /**
+     * @param testClasses test classes of test plan that are skipped and never started
+     */
+    static void reapSkipped(Collection<Class<?>> testClasses) {
+        IdleReaper<SharedKey> reaper = REAPER;
+        if (reaper != null) {
+            new TestcontainersOrchestratorExtension().reap(null, reaper, testClasses);
+        }
+    }
+
+    /**
+     * Containers of test classes with network fields are started in network of test class, so they
+     * are not counted and never reaped
+     */
+    private List<SharedKey> reapKeys(Class<?> testClass) {
+        if (hasField(testClass, ContainerNetwork.class)) {
+            return List.of();
+        }
+
+        List<SharedKey> keys = new ArrayList<>();
+        for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
+            findActiveProvider(provider.annotationType(), testClass)
+                    .filter(active -> mode(active) == ContainerMode.PER_RUN)
+                    .ifPresent(active -> keys.add(sharedKey(active, null)));
+        }
+
+        return keys;
+    }
+
+    /**
+     * Stops shared containers with all their replicas when no test class that uses them remains,
+     * {@link TestcontainersProvider#beforeStop} hooks run only when test class context is present and
+     * only for containers that are stopped, so containers kept for reuse or used by other forks keep
+     * their state
+     *
+     * @param context     of finished test class or null when test classes are skipped
+     * @param reaper      counts test classes that are still to run
+     * @param testClasses finished or skipped test classes
+     */
+    private void reap(ExtensionContext context, IdleReaper<SharedKey> reaper, Collection<Class<?>> testClasses) {
+        Set<SharedKey> idle = new HashSet<>();
+        for (Class<?> testClass : testClasses) {
+            for (SharedKey key : reapKeys(testClass)) {
+                if (reaper.finished(key)) {
+                    idle.add(key);
+                }
+            }
+        }
+
+        if (idle.isEmpty()) {
+            return;
+        }
+
+        IdlePauser<ContainerContext<?>> pauser = PAUSER;
+        List<ActiveContext<?>> stopping = new ArrayList<>();
+        for (ActiveContext<?> active : SHARED_PER_RUN.remove(key -> idle.contains(key.replica(0)))) {
+            if (pauser != null) {
+                pauser.resume(active.context);
+            }
+            closePrefetched(active.context);
+            FORK_NAMESPACES.remove(shared -> shared == active.context)
+                    .forEach(TestcontainersOrchestratorExtension::closeForkNamespace);
+            if (releaseForStop(active.context)) {
+                stopping.add(active);
+            } else {
+                RECLAIMER.flush(active.context);
+            }
+        }
+
+        try {
+            if (context != null) {
+                runContextHooks(context, stopping, true, LifecycleTimings.Phase.BEFORE_STOP,
+                        TestcontainersOrchestratorExtension::beforeStopUnchecked);
+            }
+        } finally {
+            // containers are stopped even when hooks fail, so other forks waiting for their stop proceed
+            for (ActiveContext<?> active : stopping) {
+                RECLAIMER.discard(active.context);
+                logger.info("Stopping in mode '{}' container that no remaining test class uses: {}",
+                        ContainerMode.PER_RUN, active.context);
+                stopInBackground(active.context, ContainerMode.PER_RUN);
+            }
+        }
+    }
+
+    /**
+     * Keeps {@link ContainerMode#PER_RUN} containers running after test run, so next run reuses them
+     * after their fingerprint is verified instead of starting new containers
+     */
+    static void reuseVerified() {
+        if (!TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+            logger.warn("Verified reuse of containers in mode '{}' requires Testcontainers reuse, "
+                    + "enable it with 'testcontainers.reuse.enable=true' in ~/.testcontainers.properties", ContainerMode.PER_RUN);
+            return;
+        }
+
+        reuseVerified = true;
+    }
+
+    private static boolean keepReused(ContainerContext<?> context) {
+        ReuseFingerprint fingerprint = REUSED.remove(context);
+        if (fingerprint == null) {
+            return false;
+        }
+
+        logger.info("Keeping in mode '{}' container for reuse by next test run: {}", ContainerMode.PER_RUN, context);
+        return true;
+    }
+
+    /**
+     * Shares {@link ContainerMode#PER_RUN} containers with other test JVM forks via registry in
+     * directory, attaching to container started by other fork relies on Testcontainers reuse
+     *
+     * @param directory       where registry is stored, same for all forks
+     * @param stoppingTimeout how long fork waits for shared container that other fork is stopping
+     */
+    static void shareAcrossForks(Path directory, Duration stoppingTimeout) {
+        if (!TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+            logger.warn("Sharing in mode '{}' containers across forks requires Testcontainers reuse, "
+                    + "enable it with 'testcontainers.reuse.enable=true' in ~/.testcontainers.properties", ContainerMode.PER_RUN);
+            return;
+        }
+
+        logger.debug("Sharing in mode '{}' containers across forks via registry: {}", ContainerMode.PER_RUN, directory);
+        FORKS = new ForkRegistry(directory, stoppingTimeout);
+    }
+
+    /**
+     * Starts container or attaches to container started by other fork when containers are shared across
+     * forks
+     *
+     * @param key     of shared container, same across forks
+     * @param starter starts container
+     * @return started container
+     */
+    static ContainerContext<?> startShared(String key, Supplier<ContainerContext<?>> starter) {
+        ForkRegistry forks = FORKS;
+        if (forks == null) {
+            return starter.get();
+        }
+
+        ContainerContext<?> started = forks.acquire(key, starter);
+        FORK_KEYS.put(started, key);
+        return started;
+    }
+
+    /**
+     * @param context of shared container
+     * @return true if container is not used by other forks and should be stopped
+     */
+    static boolean releaseShared(ContainerContext<?> context) {
+        String key = FORK_KEYS.remove(context);
+        ForkRegistry forks = FORKS;
+        if (key == null || forks == null) {
+            return true;
+        }
+        if (forks.release(key)) {
+            FORK_STOPPING.put(context, key);
+            return true;
+        }
+
+        logger.info("Leaving in mode '{}' container used by other forks: {}", ContainerMode.PER_RUN, context);
+        return false;
+    }
+
+    /**
+     * @param context of shared container
+     * @return true if container is not used by other forks and not kept for reuse, so it should be
+     *             stopped
+     */
+    private static boolean releaseForStop(ContainerContext<?> context) {
+        if (!releaseShared(context)) {
+            return false;
+        }
+        if (keepReused(context)) {
+            forkStopped(context);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Lets other forks start container released by this fork again once container is stopped
+     */
+    private static void forkStopped(ContainerContext<?> context) {
+        String key = FORK_STOPPING.remove(context);
+        ForkRegistry forks = FORKS;
+        if (key != null && forks != null) {
+            try {
+                forks.stopped(key);
+            } catch (Exception e) {
+                logger.warn("Failed to mark in mode '{}' container as stopped for other forks: {}",
+                        ContainerMode.PER_RUN, context, e);
+            }
+        }
+    }
+
+    /**
+     * Stops container in background, so next test class starts without waiting for container stop,
+     * stop failure is reported by {@link #awaitStopped()}
+     *
+     * @param context container to stop
+     * @param mode    container mode
+     * @return future completed when container is stopped
+     */
+    static CompletableFuture<Void> stopInBackground(ContainerContext<?> context, ContainerMode mode) {
+        CompletableFuture<Void> future = stopAsync(context, mode);
+        future.whenComplete((result, e) -> {
+            if (e != null) {
+                logger.warn("Failed to stop in mode '{}' container: {}", mode, context, e);
+                STOP_FAILURES.add((e instanceof CompletionException && e.getCause() != null)
+                        ? e.getCause()
+                        : e);
+            }
+        });
+        return future;
+    }
+
+    private static CompletableFuture<Void> stopAsync(ContainerContext<?> context, ContainerMode mode) {
+        // other forks are let in before future completes, so awaiting stopped containers awaits it as well
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            logger.debug("Stopping in mode '{}' container: {}", mode, context);
+            stopRecorded(context);
+            logger.info("Stopped in mode '{}' container: {}", mode, context);
+        }, EXECUTOR).whenComplete((result, e) -> forkStopped(context));
+        STOPPING.add(future);
+        future.whenComplete((result, e) -> STOPPING.remove(future));
+        return future;
+    }
+
+    /**
+     * Stops containers in parallel and waits for all of them, used for containers from test class
+     * fields that next test class may start again, so such container is never started while it is
+     * still being stopped and stop failure fails the caller
+     *
+     * @param contexts containers to stop
+     * @param mode     containers mode
+     */
+    static void stopAndAwait(List<ContainerContext<?>> contexts, ContainerMode mode) {
+        List<CompletableFuture<Void>> stops = contexts.stream()
+                .map(context -> stopAsync(context, mode))
+                .toList();
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> stop : stops) {
+            try {
+                stop.join();
+            } catch (CompletionException e) {
+                RuntimeException cause = (e.getCause() instanceof RuntimeException runtime)
+                        ? runtime
+                        : e;
+                if (failure == null) {
+                    failure = cause;
+                } else {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Waits for all containers that are being stopped in background
+     *
+     * @return failures of containers that failed to stop in background since previous call
+     */
+    static List<Throwable> awaitStopped() {
+        CompletableFuture.allOf(STOPPING.toArray(new CompletableFuture[0]))
+                .exceptionally(e -> null)
+                .join();
+        List<Throwable> failures = new ArrayList<>();
+        for (Throwable failure = STOP_FAILURES.poll(); failure != null; failure = STOP_FAILURES.poll()) {
+            failures.add(failure);
+        }
+
+        return failures;
     }
 
     private void start(ExtensionContext context, ContainerMode... modes) {
@@ -189,97 +697,757 @@ private void start(ExtensionContext context, ContainerMode... modes) {
             return;
         }
 
-        OrchestrationState state = state(context);
         EnumSet<ContainerMode> requested = EnumSet.noneOf(ContainerMode.class);
         requested.addAll(Arrays.asList(modes));
-        requested.removeAll(state.modesStarted);
-        if (requested.isEmpty()) {
+        OrchestrationState state = requested.contains(ContainerMode.PER_METHOD)
+                ? findMethodState(context).orElseGet(() -> state(context))
+                : state(context);
+        synchronized (state) {
+            requested.removeAll(state.modesStarted);
+            if (requested.isEmpty()) {
+                return;
+            }
+
+            List<ActiveProvider<?, ?>> activeProviders = new ArrayList<>();
+            for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
+                findActiveProvider(provider.annotationType(), context)
+                        .filter(activeProvider -> requested.contains(mode(activeProvider)))
+                        .ifPresent(activeProviders::add);
+            }
+            if (activeProviders.isEmpty()) {
+                state.modesStarted.addAll(requested);
+                return;
+            }
+
+            LifecycleTimings timings = TIMINGS;
+            if (timings != null) {
+                String testClass = context.getRequiredTestClass().getName();
+                activeProviders.forEach(active -> timings.dependencies(testClass, active.provider.annotationType(),
+                        dependencies(active)));
+            }
+
+            List<ActiveContext<?>> started = startAll(context, activeProviders);
+            started.forEach(active -> state.contexts.put(active.provider.annotationType(), active));
+
+            runContextHooks(context, started, false, LifecycleTimings.Phase.AFTER_START,
+                    TestcontainersOrchestratorExtension::afterStartUnchecked);
+
+            injectAll(context);
+            state.modesStarted.addAll(requested);
+        }
+    }
+
+    /**
+     * Moves {@link ContainerMode#PER_METHOD} containers started while test instance was constructed to
+     * test method state
+     */
+    private void adoptPerMethod(ExtensionContext context) {
+        Optional<OrchestrationState> methodState = findMethodState(context);
+        if (methodState.isEmpty()) {
             return;
         }
 
-        List<ActiveProvider<?, ?>> activeProviders = new ArrayList<>();
-        for (TestcontainersProvider<?, ?> provider : providers) {
-            findActiveProvider(provider.annotationType(), context)
-                    .filter(activeProvider -> requested.contains(mode(activeProvider)))
-                    .ifPresent(activeProviders::add);
+        OrchestrationState state = state(context);
+        synchronized (state) {
+            if (state.modesStarted.remove(ContainerMode.PER_METHOD)) {
+                for (ActiveContext<?> active : List.copyOf(state.contexts.values())) {
+                    if (active.mode == ContainerMode.PER_METHOD) {
+                        state.contexts.remove(active.provider.annotationType());
+                        methodState.get().contexts.put(active.provider.annotationType(), active);
+                    }
+                }
+                methodState.get().modesStarted.add(ContainerMode.PER_METHOD);
+            }
         }
-        if (activeProviders.isEmpty()) {
-            state.modesStarted.addAll(requested);
+    }
+
+    private void runBeforeEachHooks(ExtensionContext context) {
+        List<ActiveContext<?>> contexts = effectiveContexts(context, contexts(context));
+        Optional<OrchestrationState> methodState = findMethodState(context);
+        if (methodState.isEmpty()) {
+            runContextHooks(context, contexts, false, LifecycleTimings.Phase.BEFORE_EACH,
+                    TestcontainersOrchestratorExtension::beforeEachUnchecked);
             return;
         }
 
-        List<ActiveContext<?>> started = startAll(context, state, activeProviders);
-        started.forEach(active -> state.contexts.put(active.provider.annotationType(), active));
+        List<ActiveContext<?>> hooked = new ArrayList<>();
+        List<ActiveContext<?>> exclusive = new ArrayList<>();
+        for (ActiveContext<?> active : leaseOrder(contexts)) {
+            if (!isLeased(active)) {
+                hooked.add(active);
+            } else if (active.leases.acquire()) {
+                methodState.get().leased.add(active);
+                exclusive.add(active);
+                hooked.add(active);
+            } else {
+                methodState.get().leased.add(active);
+            }
+        }
+
+        try {
+            runContextHooks(context, hooked, false, LifecycleTimings.Phase.BEFORE_EACH,
+                    TestcontainersOrchestratorExtension::beforeEachUnchecked);
+        } finally {
+            exclusive.forEach(active -> active.leases.unlock());
+        }
+    }
+
+    private void runAfterEachHooks(ExtensionContext context, List<ActiveContext<?>> contexts) {
+        List<ActiveContext<?>> leased = findMethodState(context)
+                .map(methodState -> methodState.leased)
+                .orElse(List.of());
+
+        List<ActiveContext<?>> hooked = new ArrayList<>();
+        List<ActiveContext<?>> exclusive = new ArrayList<>();
+        for (ActiveContext<?> active : leaseOrder(contexts)) {
+            if (!leased.contains(active)) {
+                hooked.add(active);
+            } else if (active.leases.release()) {
+                exclusive.add(active);
+                hooked.add(active);
+            }
+        }
+
+        try {
+            runContextHooks(context, hooked, true, LifecycleTimings.Phase.AFTER_EACH,
+                    TestcontainersOrchestratorExtension::afterEachUnchecked);
+        } finally {
+            leased.clear();
+            exclusive.forEach(active -> active.leases.unlock());
+        }
+    }
 
-        runContextHooks(context, started, false, TestcontainersOrchestratorExtension::afterStartUnchecked);
+    /**
+     * Shared containers are used by all tests running in parallel, so their state is changed only when
+     * no other test uses container
+     */
+    private static boolean isLeased(ActiveContext<?> active) {
+        return active.mode != ContainerMode.PER_METHOD && isolation(active) != Isolation.Mode.PER_METHOD;
+    }
 
-        injectAll(context);
-        state.modesStarted.addAll(requested);
+    /**
+     * Leases are always taken in same order, so tests waiting for exclusive access can't deadlock
+     */
+    private static List<ActiveContext<?>> leaseOrder(List<ActiveContext<?>> contexts) {
+        return contexts.stream()
+                .sorted(Comparator.comparing((ActiveContext<?> active) -> active.provider.annotationType().getName())
+                        .thenComparingInt(System::identityHashCode))
+                .toList();
     }
 
     private <A extends Annotation, C> ActiveContext<C> startOne(ExtensionContext context, ActiveProvider<A, C> active) {
+        if (mode(active) == ContainerMode.PER_RUN) {
+            SharedKey key = replicaKey(context, active, sharedKey(active, findNetworkFromField(context).orElse(null)));
+            ActiveContext<C> shared = (ActiveContext<C>) SHARED_PER_RUN.computeIfAbsent(key,
+                    () -> startPerRun(key, () -> createAndStart(active, findContainerFromField(context, active.provider()),
+                            findNetworkFromField(context), true, key.replica())));
+            acquirePaused(context, shared);
+            return forkNamespace(context, shared);
+        } else if (active.provider().poolReplicas(active.annotation()) != 1) {
+            throw new ExtensionConfigurationException("@%s pool replicas require ContainerMode.PER_RUN, but was: %s"
+                    .formatted(active.provider().annotationType().getSimpleName(), mode(active)));
+        }
+
+        if (isPooled(active)) {
+            return takePooled(context, active);
+        }
+
+        return takeLookahead(context, active)
+                .orElseGet(() -> createAndStart(context, active));
+    }
+
+    private static <A extends Annotation> boolean isPooled(ActiveProvider<A, ?> active) {
+        return active.provider().poolSize(active.annotation()) > 0 || active.provider().poolRecycle(active.annotation());
+    }
+
+    /**
+     * @return container started ahead while previous test class was running or empty if container
+     *             wasn't started ahead or failed to start
+     */
+    private <A extends Annotation, C> Optional<ActiveContext<C>> takeLookahead(ExtensionContext context,
+                                                                              ActiveProvider<A, C> active) {
+        if (LOOKAHEAD.isEmpty() || mode(active) != ContainerMode.PER_CLASS || context.getTestClass().isEmpty()) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<ActiveContext<?>> future = LOOKAHEAD.remove(
+                new LookaheadKey(context.getRequiredTestClass(), active.provider().annotationType()));
+        if (future == null) {
+            return Optional.empty();
+        }
+
+        try {
+            ActiveContext<C> started = (ActiveContext<C>) future.join();
+            logger.debug("Using container started ahead in mode '{}': {}", ContainerMode.PER_CLASS, started.context);
+            return Optional.of(started);
+        } catch (CompletionException e) {
+            logger.warn("Failed to start ahead in mode '{}' container, starting it again for: {}",
+                    ContainerMode.PER_CLASS, context.getRequiredTestClass().getName(), e.getCause());
+            return Optional.empty();
+        }
+    }
+
+    private <A extends Annotation, C> ActiveContext<C> takePooled(ExtensionContext context, ActiveProvider<A, C> active) {
         TestcontainersProvider<A, C> provider = active.provider();
         A annotation = active.annotation();
-        ContainerMode mode = provider.mode(annotation);
+        if (findContainerFromField(context, provider).isPresent()) {
+            return createAndStart(context, active);
+        }
+
+        Optional<org.testcontainers.containers.Network> network = findNetworkFromField(context);
+        SharedKey key = sharedKey(active, network.orElse(null));
+        WarmPool<ContainerContext<?>> pool = POOLS.computeIfAbsent(key, ignored -> new WarmPool<>(
+                provider.annotationType().getSimpleName() + "[image=" + key.image() + "]",
+                provider.poolSize(annotation),
+                () -> createAndStart(active, Optional.empty(), network, false).context,
+                TestcontainersOrchestratorExtension::stopContext,
+                EXECUTOR));
+
+        ContainerContext<C> containerContext = (ContainerContext<C>) pool.take();
+        return new ActiveContext<>(provider, annotation, mode(active), containerContext, pool, null);
+    }
+
+    private static <A extends Annotation> SharedKey sharedKey(ActiveProvider<A, ?> active,
+                                                              org.testcontainers.containers.Network network) {
+        TestcontainersProvider<A, ?> provider = active.provider();
+        A annotation = active.annotation();
+        return new SharedKey(provider.getClass(), provider.image(annotation),
+                provider.networkShared(annotation), provider.networkAlias(annotation), network,
+                provider.resources(annotation), 0);
+    }
+
+    /**
+     * Test class uses shared container until test class finishes, container is unpaused if it was
+     * paused while no test class used it. Containers shared with other forks are never paused.
+     */
+    private static void acquirePaused(ExtensionContext context, ActiveContext<?> shared) {
+        IdlePauser<ContainerContext<?>> pauser = PAUSER;
+        if (pauser != null && !FORK_KEYS.containsKey(shared.context)) {
+            classContext(context).getStore(NAMESPACE).getOrComputeIfAbsent(new PauseKey(shared.context), ignored -> {
+                pauser.acquire(shared.context);
+                return new PauseLease(pauser, shared.context);
+            }, PauseLease.class);
+        }
+    }
 
-        if (mode == ContainerMode.PER_RUN) {
-            Optional<org.testcontainers.containers.Network> network = findNetworkFromField(context);
-            SharedKey key = new SharedKey(provider.getClass(), provider.image(annotation),
-                    provider.networkShared(annotation), provider.networkAlias(annotation), network.orElse(null));
-            return (ActiveContext<C>) SHARED_PER_RUN.computeIfAbsent(key, ignored -> createAndStart(context, active));
+    /**
+     * Top level test class is assigned to one replica of shared container and its nested classes use
+     * same replica, replica is released when top level test class finishes
+     */
+    private <A extends Annotation> SharedKey replicaKey(ExtensionContext context,
+                                                        ActiveProvider<A, ?> active,
+                                                        SharedKey key) {
+        TestcontainersProvider<A, ?> provider = active.provider();
+        A annotation = active.annotation();
+        int replicas = provider.poolReplicas(annotation);
+        if (replicas == 1) {
+            return key;
+        } else if (replicas < 1) {
+            throw new ExtensionConfigurationException("@%s pool replicas can't be less than 1, but was: %s"
+                    .formatted(provider.annotationType().getSimpleName(), replicas));
+        } else if (key.network() || key.networkInstance() != null) {
+            // replicas with same network alias can't be told apart by containers in network
+            throw new ExtensionConfigurationException("@%s pool replicas can't be used with shared network"
+                    .formatted(provider.annotationType().getSimpleName()));
+        } else if (findContainerFromField(context, provider).isPresent()) {
+            throw new ExtensionConfigurationException("@%s pool replicas can't be used with container from field"
+                    .formatted(provider.annotationType().getSimpleName()));
         }
 
-        return createAndStart(context, active);
+        ExtensionContext testClass = topLevelClassContext(context);
+        ReplicaLease lease = testClass.getStore(NAMESPACE).getOrComputeIfAbsent(new ReplicaKey(key), ignored -> {
+            ReplicaAssigner assigner = REPLICAS.computeIfAbsent(key,
+                    k -> new ReplicaAssigner(replicas, provider.poolAssignment(annotation)));
+            int replica = assigner.acquire();
+            logger.debug("Assigned test class '{}' to replica {} of {}: {}",
+                    testClass.getDisplayName(), replica, replicas, key.image());
+            return new ReplicaLease(assigner, replica);
+        }, ReplicaLease.class);
+        return key.replica(lease.replica());
     }
 
     private <A extends Annotation, C> ActiveContext<C> createAndStart(ExtensionContext context, ActiveProvider<A, C> active) {
+        return createAndStart(active, findContainerFromField(context, active.provider()), findNetworkFromField(context), true);
+    }
+
+    private <A extends Annotation, C> ActiveContext<C> createAndStart(ActiveProvider<A, C> active,
+                                                                      Optional<GenericContainer<?>> containerFromField,
+                                                                      Optional<org.testcontainers.containers.Network> network,
+                                                                      boolean snapshotted) {
+        return createAndStart(active, containerFromField, network, snapshotted, 0);
+    }
+
+    private <A extends Annotation, C> ActiveContext<C> createAndStart(ActiveProvider<A, C> active,
+                                                                      Optional<GenericContainer<?>> containerFromField,
+                                                                      Optional<org.testcontainers.containers.Network> network,
+                                                                      boolean snapshotted,
+                                                                      int replica) {
         TestcontainersProvider<A, C> provider = active.provider();
         A annotation = active.annotation();
-        GenericContainer<?> container = findContainerFromField(context, provider)
-                .orElseGet(() -> provider.createContainer(annotation));
-        configureNetwork(context, provider, annotation, container);
+        if (containerFromField.isEmpty()) {
+            // provider may resolve image while creating container, so image pulled at test plan start is awaited first
+            ImagePuller.await(provider.image(annotation));
+        }
+
+        GenericContainer<?> container = containerFromField.orElseGet(() -> provider.createContainer(annotation));
+        configureNetwork(provider, annotation, container, network);
         if (provider.mode(annotation) == ContainerMode.PER_RUN) {
             container.withReuse(true);
         }
+        Resources resources = provider.resources(annotation);
+        if (resources != null && containerFromField.isEmpty()) {
+            ContainerResources.apply(container, resources);
+        }
+        if (replica > 0) {
+            // reused replicas are matched by container hash, so each replica gets its own container
+            container.withLabel(REPLICA_LABEL, String.valueOf(replica));
+        }
+
+        SnapshotImage snapshot = (snapshotted && containerFromField.isEmpty())
+                ? snapshotImage(provider, annotation, container)
+                : null;
+        ReuseFingerprint fingerprint = null;
+        if (reuseVerified && provider.mode(annotation) == ContainerMode.PER_RUN && containerFromField.isEmpty()) {
+            container.withLabel(ReuseFingerprint.LABEL, provider.getClass().getName());
+            fingerprint = ReuseFingerprint.of(provider.getClass().getName() + annotation, provider.migrations(annotation),
+                    container);
+        }
 
         ContainerContext<C> containerContext = provider.createContext(container);
+        IdlePauser<ContainerContext<?>> pauser = PAUSER;
+        if (pauser != null && provider.mode(annotation) == ContainerMode.PER_RUN && containerFromField.isEmpty()) {
+            pauser.register(containerContext, pauseControl(container));
+        }
 
         logger.debug("Starting in mode '{}' container: {}", provider.mode(annotation), containerContext);
-        containerContext.start();
+        ContainerLifecycleEvent event = ContainerLifecycleEvent.start("CONTAINER_START");
+        if (fingerprint != null) {
+            fingerprint.beforeStart();
+        }
+        try {
+            containerContext.start();
+        } finally {
+            event.commit(provider.annotationType().getSimpleName(), containerContext, null);
+        }
         logger.info("Started in mode '{}' container: {}", provider.mode(annotation), containerContext);
-        return new ActiveContext<>(provider, annotation, provider.mode(annotation), containerContext);
+        if (fingerprint != null) {
+            verifyReused(containerContext, fingerprint.value(), fingerprint.read(), fingerprint.reattached(),
+                    () -> provider.reset(annotation, containerContext));
+            REUSED.put(containerContext, fingerprint);
+        }
+
+        return new ActiveContext<>(provider, annotation, provider.mode(annotation), containerContext, null, snapshot,
+                containerFromField.isPresent());
+    }
+
+    private static IdlePauser.Control pauseControl(GenericContainer<?> container) {
+        return new IdlePauser.Control() {
+
+            @Override
+            public void pause() {
+                container.getDockerClient().pauseContainerCmd(container.getContainerId()).exec();
+            }
+
+            @Override
+            public void unpause() {
+                container.getDockerClient().unpauseContainerCmd(container.getContainerId()).exec();
+            }
+        };
+    }
+
+    /**
+     * Container reused from previous test run with other configuration or migrations is reset, so
+     * migrations are applied to clean container, container that can't be reset is restarted.
+     * Reattached container without fingerprint failed to finish setup in previous run and is treated
+     * as outdated too.
+     *
+     * @param context     started container
+     * @param fingerprint fingerprint of current run
+     * @param reused      fingerprint stored in container or null if none is stored
+     * @param reattached  true if container was created by previous test run
+     * @param reset       resets container state, returns false if container can't be reset
+     */
+    static void verifyReused(ContainerContext<?> context,
+                             String fingerprint,
+                             String reused,
+                             boolean reattached,
+                             BooleanSupplier reset) {
+        if (fingerprint.equals(reused)) {
+            logger.debug("Verified fingerprint '{}' of container: {}", fingerprint, context);
+            return;
+        } else if (reused == null && !reattached) {
+            logger.debug("Created container with fingerprint '{}': {}", fingerprint, context);
+            return;
+        }
+
+        logger.info("Resetting container with outdated fingerprint '{}' instead of '{}': {}", reused, fingerprint, context);
+        if (!reset.getAsBoolean()) {
+            logger.info("Restarting container with outdated fingerprint that can't be reset: {}", context);
+            context.stop();
+            context.start();
+        }
+    }
+
+    private static <A extends Annotation> SnapshotImage snapshotImage(TestcontainersProvider<A, ?> provider,
+                                                                      A annotation,
+                                                                      GenericContainer<?> container) {
+        MigrationSnapshot migrations = provider.snapshot(annotation);
+        if (migrations == null) {
+            return null;
+        }
+
+        SnapshotImage snapshot = SnapshotImage.of(container.getDockerImageName(), migrations, container);
+        if (snapshot.restored()) {
+            logger.info("Restoring container from snapshot image: {}", snapshot.image());
+            provider.restoreSnapshot(annotation, container, snapshot.image());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Starts {@link ContainerMode#PER_RUN} containers for specified test classes in background before
+     * test classes are executed, so {@link #beforeAll(ExtensionContext)} finds them already started.
+     * Providers which container or network is declared via test class fields are skipped and started
+     * lazily as usual.
+     *
+     * @param testClasses from test plan
+     * @return future completed when all containers are started or failed to start
+     */
+    static CompletableFuture<Void> prestartPerRun(Collection<Class<?>> testClasses) {
+        TestcontainersOrchestratorExtension orchestrator = new TestcontainersOrchestratorExtension();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Class<?> testClass : testClasses) {
+            List<ActiveProvider<?, ?>> perRun = orchestrator.findPrestartProviders(testClass, ContainerMode.PER_RUN);
+            if (!perRun.isEmpty()) {
+                CompletableFuture<Void> future = CompletableFuture
+                        .runAsync(() -> orchestrator.prestart(perRun), EXECUTOR)
+                        .exceptionally(e -> {
+                            logger.warn("Failed to prestart in mode '{}' containers for: {}",
+                                    ContainerMode.PER_RUN, testClass.getName(), e);
+                            return null;
+                        });
+                PRESTARTED.add(future);
+                futures.add(future);
+            }
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Starts {@link ContainerMode#PER_CLASS} containers of test class in background while previous
+     * test classes are running, so {@link #beforeAll(ExtensionContext)} of test class takes already
+     * started containers. Containers of each test class are started ahead once, same providers as for
+     * {@link #prestartPerRun(Collection)} are eligible except pooled ones.
+     *
+     * @param testClass that runs later
+     * @return future completed when all containers are started or failed to start
+     */
+    static CompletableFuture<Void> lookahead(Class<?> testClass) {
+        if (!LOOKAHEAD_CLASSES.add(testClass)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        TestcontainersOrchestratorExtension orchestrator = new TestcontainersOrchestratorExtension();
+        List<ActiveProvider<?, ?>> perClass = orchestrator.findPrestartProviders(testClass, ContainerMode.PER_CLASS);
+        if (perClass.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Map<Class<? extends Annotation>, CompletableFuture<ActiveContext<?>>> futures = new HashMap<>();
+        for (ActiveProvider<?, ?> active : perClass) {
+            CompletableFuture<ActiveContext<?>> future = new CompletableFuture<>();
+            futures.put(active.provider().annotationType(), future);
+            LOOKAHEAD.put(new LookaheadKey(testClass, active.provider().annotationType()), future);
+        }
+
+        logger.debug("Starting ahead in mode '{}' {} containers for: {}", ContainerMode.PER_CLASS, perClass.size(),
+                testClass.getName());
+        CompletableFuture.runAsync(() -> DependencyScheduler.of(perClass,
+                provider -> provider.provider.annotationType(),
+                TestcontainersOrchestratorExtension::dependencies,
+                false)
+                .run(active -> {
+                    ActiveContext<?> started = orchestrator.createAndStart(active, Optional.empty(), Optional.empty(), true);
+                    futures.get(active.provider().annotationType()).complete(started);
+                    return started;
+                }, EXECUTOR), EXECUTOR)
+                .whenComplete((result, e) -> {
+                    // containers that weren't started because of failed dependency are started by test class as usual
+                    Throwable cause = (e == null)
+                            ? new IllegalStateException("Container wasn't started ahead")
+                            : e;
+                    futures.values().forEach(future -> future.completeExceptionally(cause));
+                });
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .handle((result, e) -> null);
+    }
+
+    /**
+     * Stops containers started ahead for test classes that are skipped or finished without taking them
+     *
+     * @param testClasses skipped or finished test classes
+     */
+    static void discardLookahead(Collection<Class<?>> testClasses) {
+        Set<Class<?>> discarded = new HashSet<>(testClasses);
+        LOOKAHEAD.entrySet().removeIf(entry -> {
+            if (!discarded.contains(entry.getKey().testClass())) {
+                return false;
+            }
+
+            entry.getValue().thenAccept(active -> stopInBackground(active.context, ContainerMode.PER_CLASS));
+            return true;
+        });
+    }
+
+    /**
+     * Stops containers started ahead that no test class used
+     */
+    static void stopLookahead() {
+        List<CompletableFuture<ActiveContext<?>>> futures = new ArrayList<>(LOOKAHEAD.values());
+        LOOKAHEAD.clear();
+        LOOKAHEAD_CLASSES.clear();
+        for (CompletableFuture<ActiveContext<?>> future : futures) {
+            ActiveContext<?> active = future.handle((result, e) -> result).join();
+            if (active != null) {
+                stopInBackground(active.context, ContainerMode.PER_CLASS);
+            }
+        }
+    }
+
+    /**
+     * Pulls images of containers declared by test classes annotations and static container fields
+     *
+     * @param testClasses test classes of test plan
+     * @param parallelism max images pulled at once
+     * @return future completed when all images are pulled
+     */
+    static CompletableFuture<Void> pullImages(Collection<Class<?>> testClasses, int parallelism) {
+        TestcontainersOrchestratorExtension orchestrator = new TestcontainersOrchestratorExtension();
+        Map<String, Supplier<?>> pulls = new LinkedHashMap<>();
+        for (Class<?> testClass : testClasses) {
+            for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
+                orchestrator.findActiveProvider(provider.annotationType(), testClass)
+                        .map(TestcontainersOrchestratorExtension::image)
+                        .ifPresent(image -> pulls.putIfAbsent(image,
+                                () -> new RemoteDockerImage(DockerImageName.parse(image)).get()));
+
+                for (Field field : TestClassMetadata.of(testClass).staticFields(provider.containerAnnotationType())) {
+                    try {
+                        field.setAccessible(true);
+                        if (field.get(null)instanceof GenericContainer<?> container) {
+                            // resolves same image future that container uses on start
+                            pulls.putIfAbsent(field.toGenericString(), () -> getUnchecked(container.getImage()));
+                        }
+                    } catch (Throwable e) {
+                        logger.debug("Failed to read container field for image pull: {}", field, e);
+                    }
+                }
+            }
+        }
+
+        return ImagePuller.pull(pulls, parallelism);
+    }
+
+    /**
+     * @param testClass test class with its nested classes
+     * @return containers test class uses as provider, image, mode and isolation
+     */
+    static Set<String> containers(Class<?> testClass) {
+        TestcontainersOrchestratorExtension orchestrator = new TestcontainersOrchestratorExtension();
+        Set<String> containers = new TreeSet<>();
+        List<Class<?>> testClasses = new ArrayList<>(List.of(testClass));
+        for (int i = 0; i < testClasses.size(); i++) {
+            Class<?> current = testClasses.get(i);
+            for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
+                orchestrator.findActiveProvider(provider.annotationType(), current)
+                        .ifPresent(active -> containers.add(provider.annotationType().getSimpleName() + "[image=" + image(active)
+                                + ", mode=" + mode(active) + ", isolation=" + isolation(active) + "]"));
+            }
+
+            for (Class<?> declared : current.getDeclaredClasses()) {
+                if (declared.isAnnotationPresent(Nested.class)) {
+                    testClasses.add(declared);
+                }
+            }
+        }
+
+        return containers;
+    }
+
+    private static <A extends Annotation> String image(ActiveProvider<A, ?> active) {
+        return active.provider().image(active.annotation());
+    }
+
+    private static <T> T getUnchecked(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void prestart(List<ActiveProvider<?, ?>> perRun) {
+        DependencyScheduler.of(perRun,
+                provider -> provider.provider.annotationType(),
+                TestcontainersOrchestratorExtension::dependencies,
+                false)
+                .run(active -> {
+                    SharedKey key = sharedKey(active, null);
+                    return SHARED_PER_RUN.computeIfAbsent(key,
+                            () -> startPerRun(key, () -> createAndStart(active, Optional.empty(), Optional.empty(), true)));
+                }, EXECUTOR);
+    }
+
+    private static <C> ActiveContext<C> startPerRun(SharedKey key, Supplier<ActiveContext<C>> starter) {
+        ForkRegistry forks = FORKS;
+        // network is created per JVM, so containers in network can't be shared across forks
+        if (forks == null || key.network() || key.networkInstance() != null) {
+            return starter.get();
+        }
+
+        String forkKey = key.provider().getName() + "[image=" + key.image() + ", alias=" + key.alias()
+                + ((key.resources() != null && ContainerResources.limited(key.resources()))
+                        ? ", resources=" + key.resources()
+                        : "")
+                + ((key.replica() > 0) ? ", replica=" + key.replica() : "") + "]";
+        ActiveContext<C> started = forks.acquire(forkKey, starter);
+        FORK_KEYS.put(started.context, forkKey);
+        return started;
+    }
+
+    /**
+     * Container shared with other forks is used by current fork via its own namespace, so forks never
+     * see migrations and data of each other. Providers without namespaces use shared container as is.
+     */
+    private static <A extends Annotation, C> ActiveContext<C> forkNamespace(ExtensionContext context, ActiveContext<C> shared) {
+        if (!FORK_KEYS.containsKey(shared.context) || isolation(shared) != Isolation.Mode.DISABLED) {
+            return shared;
+        }
+
+        ForkNamespace forked = FORK_NAMESPACES.computeIfAbsent(shared.context, () -> {
+            TestcontainersProvider<A, C> provider = (TestcontainersProvider<A, C>) shared.provider;
+            A annotation = (A) shared.annotation;
+            String namespace = namespace(provider.isolationPrefix(annotation));
+            C connection = provider.prepareIsolatedConnection(annotation, shared.context, namespace);
+            if (connection == null) {
+                return new ForkNamespace(shared, context.getRoot());
+            }
+
+            logger.debug("Using namespace '{}' of container shared across forks: {}", namespace, shared.context);
+            return new ForkNamespace(new ActiveContext<>(provider, annotation, shared.mode,
+                    new ConnectionOnlyContext<>(connection, namespace, shared.context)), context.getRoot());
+        });
+        return (ActiveContext<C>) forked.active();
+    }
+
+    private static <A extends Annotation, C> void closeForkNamespace(ForkNamespace forked) {
+        ActiveContext<C> active = (ActiveContext<C>) forked.active();
+        if (active.context instanceof ConnectionOnlyContext<C> isolated) {
+            closeIsolated((TestcontainersProvider<A, C>) active.provider, (A) active.annotation, isolated, forked.root(), true);
+        }
+    }
+
+    private List<ActiveProvider<?, ?>> findPrestartProviders(Class<?> testClass, ContainerMode mode) {
+        if (hasField(testClass, ContainerNetwork.class)) {
+            return List.of();
+        }
+
+        List<ActiveProvider<?, ?>> active = new ArrayList<>();
+        for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
+            findActiveProvider(provider.annotationType(), testClass).ifPresent(active::add);
+        }
+
+        Set<Class<? extends Annotation>> activeAnnotations = new HashSet<>();
+        active.forEach(provider -> activeAnnotations.add(provider.provider.annotationType()));
+        List<ActiveProvider<?, ?>> eligible = new ArrayList<>(active.stream()
+                .filter(provider -> mode(provider) == mode)
+                .filter(provider -> !hasField(testClass, provider.provider.containerAnnotationType()))
+                // pooled containers are already started ahead by pool
+                .filter(provider -> mode == ContainerMode.PER_RUN || !isPooled(provider))
+                .toList());
+
+        // dependency on container started later in class lifecycle makes dependent not eligible for prestart
+        boolean removed = true;
+        while (removed) {
+            Set<Class<? extends Annotation>> prestarted = new HashSet<>();
+            eligible.forEach(provider -> prestarted.add(provider.provider.annotationType()));
+            removed = eligible.removeIf(provider -> dependencies(provider).stream()
+                    .anyMatch(dependency -> activeAnnotations.contains(dependency) && !prestarted.contains(dependency)));
+        }
+
+        return eligible;
+    }
+
+    private static boolean hasField(Class<?> testClass, Class<? extends Annotation> annotationType) {
+        for (Class<?> current = testClass; current != null; current = enclosingIfNested(current)) {
+            if (!TestClassMetadata.of(current).fields(annotationType).isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     private void stop(ExtensionContext context, ContainerMode mode) {
-        OrchestrationState state = state(context);
+        OrchestrationState state = (mode == ContainerMode.PER_METHOD)
+                ? findMethodState(context).orElseGet(() -> state(context))
+                : state(context);
         List<ActiveContext<?>> stopping = state.contexts.values().stream()
                 .filter(active -> active.mode == mode)
                 .toList();
-        runContextHooks(context, stopping, true, TestcontainersOrchestratorExtension::beforeStopUnchecked);
-        runContextHooks(context, stopping, true, (active, ignored) -> stopUnchecked(active));
-        state.contexts.values().removeIf(active -> active.mode == mode);
-        state.modesStarted.remove(mode);
+        runContextHooks(context, stopping, true, LifecycleTimings.Phase.BEFORE_STOP,
+                TestcontainersOrchestratorExtension::beforeStopUnchecked);
+        for (ActiveContext<?> active : stopping) {
+            closePrefetched(active.context);
+            if (active.pool != null) {
+                RECLAIMER.flush(active.context);
+            } else {
+                RECLAIMER.discard(active.context);
+            }
+        }
+        try {
+            if (mode == ContainerMode.PER_METHOD) {
+                runContextHooks(context, stopping, true, LifecycleTimings.Phase.STOP, (active, ignored) -> release(active));
+            } else {
+                List<ContainerContext<?>> awaited = new ArrayList<>();
+                for (ActiveContext<?> active : stopping) {
+                    if (active.pool != null) {
+                        release(active);
+                    } else if (active.fromField) {
+                        awaited.add(active.context);
+                    } else {
+                        stopInBackground(active.context, mode);
+                    }
+                }
+                stopAndAwait(awaited, mode);
+            }
+        } finally {
+            state.contexts.values().removeIf(active -> active.mode == mode);
+            state.modesStarted.remove(mode);
+        }
     }
 
     private void injectAll(ExtensionContext context) {
         context.getTestInstance().ifPresent(instance -> {
-            effectiveContexts(context, new ArrayList<>(state(context).contexts.values()))
+            effectiveContexts(context, contexts(context))
                     .forEach(active -> injectIntoInstance(active, instance));
             findParentTestClassIfNested(context)
-                    .ifPresent(parent -> effectiveContexts(context, new ArrayList<>(state(context).contexts.values()))
+                    .ifPresent(parent -> effectiveContexts(context, contexts(context))
                             .forEach(active -> injectIntoInstance(active, parent)));
         });
     }
 
     private void injectIntoInstance(ActiveContext<?> active, Object instance) {
-        List<Field> fields = ReflectionUtils.findFields(instance.getClass(),
-                field -> !field.isSynthetic()
-                        && !Modifier.isFinal(field.getModifiers())
-                        && !Modifier.isStatic(field.getModifiers())
-                        && field.getAnnotation(active.provider.connectionAnnotationType()) != null,
-                ReflectionUtils.HierarchyTraversalMode.TOP_DOWN);
-
-        fields.forEach(field -> injectUnchecked(active, field, instance));
+        for (Field field : TestClassMetadata.of(instance.getClass()).instanceFields(active.provider.connectionAnnotationType())) {
+            if (!Modifier.isFinal(field.getModifiers())) {
+                injectUnchecked(active, field, instance);
+            }
+        }
     }
 
     private Optional<GenericContainer<?>> findContainerFromField(ExtensionContext context,
@@ -318,22 +1486,14 @@ private Optional<org.testcontainers.containers.Network> findNetworkFromField(Ext
     }
 
     private Optional<GenericContainer<?>> findContainerInInstance(Object instance, TestcontainersProvider<?, ?> provider) {
-        return ReflectionUtils.findFields(instance.getClass(),
-                field -> !field.isSynthetic()
-                        && !Modifier.isStatic(field.getModifiers())
-                        && field.getAnnotation(provider.containerAnnotationType()) != null,
-                ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
+        return TestClassMetadata.of(instance.getClass()).instanceFields(provider.containerAnnotationType())
                 .stream()
                 .findFirst()
                 .map(field -> getContainerFromField(field, instance, provider));
     }
 
     private Optional<org.testcontainers.containers.Network> findNetworkInInstance(Object instance) {
-        return ReflectionUtils.findFields(instance.getClass(),
-                field -> !field.isSynthetic()
-                        && !Modifier.isStatic(field.getModifiers())
-                        && field.getAnnotation(ContainerNetwork.class) != null,
-                ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
+        return TestClassMetadata.of(instance.getClass()).instanceFields(ContainerNetwork.class)
                 .stream()
                 .findFirst()
                 .map(field -> getNetworkFromField(field, instance));
@@ -355,24 +1515,10 @@ private Optional<GenericContainer<?>> findContainerStatic(ExtensionContext conte
     }
 
     private Optional<GenericContainer<?>> findContainerStatic(Class<?> testClass, TestcontainersProvider<?, ?> provider) {
-        Class<?> current = testClass;
-        while (!current.equals(Object.class)) {
-            Optional<GenericContainer<?>> container = ReflectionUtils.findFields(current,
-                    field -> !field.isSynthetic()
-                            && Modifier.isStatic(field.getModifiers())
-                            && field.getAnnotation(provider.containerAnnotationType()) != null,
-                    ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
-                    .stream()
-                    .findFirst()
-                    .map(field -> getContainerFromField(field, null, provider));
-            if (container.isPresent()) {
-                return container;
-            }
-
-            current = current.getSuperclass();
-        }
-
-        return Optional.empty();
+        return TestClassMetadata.of(testClass).staticFields(provider.containerAnnotationType())
+                .stream()
+                .findFirst()
+                .map(field -> getContainerFromField(field, null, provider));
     }
 
     private Optional<org.testcontainers.containers.Network> findNetworkStatic(ExtensionContext context) {
@@ -391,24 +1537,10 @@ private Optional<org.testcontainers.containers.Network> findNetworkStatic(Extens
     }
 
     private Optional<org.testcontainers.containers.Network> findNetworkStatic(Class<?> testClass) {
-        Class<?> current = testClass;
-        while (!current.equals(Object.class)) {
-            Optional<org.testcontainers.containers.Network> network = ReflectionUtils.findFields(current,
-                    field -> !field.isSynthetic()
-                            && Modifier.isStatic(field.getModifiers())
-                            && field.getAnnotation(ContainerNetwork.class) != null,
-                    ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
-                    .stream()
-                    .findFirst()
-                    .map(field -> getNetworkFromField(field, null));
-            if (network.isPresent()) {
-                return network;
-            }
-
-            current = current.getSuperclass();
-        }
-
-        return Optional.empty();
+        return TestClassMetadata.of(testClass).staticFields(ContainerNetwork.class)
+                .stream()
+                .findFirst()
+                .map(field -> getNetworkFromField(field, null));
     }
 
     private GenericContainer<?> getContainerFromField(Field field, Object instance, TestcontainersProvider<?, ?> provider) {
@@ -462,6 +1594,12 @@ private static Optional<Object> findParentTestClassIfNested(ExtensionContext con
                                 })));
     }
 
+    private static Class<?> enclosingIfNested(Class<?> testClass) {
+        return testClass.isAnnotationPresent(Nested.class)
+                ? testClass.getEnclosingClass()
+                : null;
+    }
+
     private static Optional<Class<?>> findParentTestClass(Class<?> childTestClass, ExtensionContext context) {
         return context.getTestClass()
                 .filter(c -> !c.equals(childTestClass))
@@ -470,7 +1608,7 @@ private static Optional<Class<?>> findParentTestClass(Class<?> childTestClass, E
     }
 
     private Optional<TestcontainersProvider<?, ?>> findProviderForParameter(ParameterContext parameterContext) {
-        return providers.stream()
+        return PROVIDERS.stream()
                 .filter(provider -> parameterContext.getParameter().getAnnotation(provider.connectionAnnotationType()) != null)
                 .findFirst();
     }
@@ -478,11 +1616,24 @@ private static Optional<Class<?>> findParentTestClass(Class<?> childTestClass, E
     private <A extends Annotation> Optional<ActiveProvider<A, ?>> findActiveProvider(Class<A> annotationType,
                                                                                      ExtensionContext context) {
         return findAnnotation(annotationType, context)
-                .map(annotation -> providers.stream()
-                        .filter(provider -> provider.annotationType().equals(annotationType))
-                        .findFirst()
-                        .map(provider -> new ActiveProvider<>((TestcontainersProvider<A, ?>) provider, annotation)))
-                .flatMap(a -> a);
+                .flatMap(annotation -> activeProvider(annotationType, annotation));
+    }
+
+    private <A extends Annotation> Optional<ActiveProvider<A, ?>> findActiveProvider(Class<A> annotationType,
+                                                                                     Class<?> testClass) {
+        for (Class<?> current = testClass; current != null; current = enclosingIfNested(current)) {
+            Optional<A> annotation = findAnnotation(annotationType, current);
+            if (annotation.isPresent()) {
+                return activeProvider(annotationType, annotation.get());
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static <A extends Annotation> Optional<ActiveProvider<A, ?>> activeProvider(Class<A> annotationType, A annotation) {
+        return Optional.ofNullable(ANNOTATION_TO_PROVIDER.get(annotationType))
+                .map(provider -> new ActiveProvider<>((TestcontainersProvider<A, ?>) provider, annotation));
     }
 
     private static <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType, ExtensionContext context) {
@@ -493,14 +1644,9 @@ private static <A extends Annotation> Optional<A> findAnnotation(Class<A> annota
                 continue;
             }
 
-            Class<?> requiredClass = current.get().getRequiredTestClass();
-            while (!requiredClass.equals(Object.class)) {
-                Optional<A> annotation = AnnotationSupport.findAnnotation(requiredClass, annotationType);
-                if (annotation.isPresent()) {
-                    return annotation;
-                }
-
-                requiredClass = requiredClass.getSuperclass();
+            Optional<A> annotation = findAnnotation(annotationType, current.get().getRequiredTestClass());
+            if (annotation.isPresent()) {
+                return annotation;
             }
 
             current = current.get().getParent();
@@ -509,10 +1655,38 @@ private static <A extends Annotation> Optional<A> findAnnotation(Class<A> annota
         return Optional.empty();
     }
 
+    private static <A extends Annotation> Optional<A> findAnnotation(Class<A> annotationType, Class<?> testClass) {
+        return TestClassMetadata.of(testClass).annotation(annotationType);
+    }
+
     private OrchestrationState state(ExtensionContext context) {
         return getStore(context).getOrComputeIfAbsent(OrchestrationState.class);
     }
 
+    private static Optional<OrchestrationState> findMethodState(ExtensionContext context) {
+        return context.getTestMethod()
+                .map(ignored -> context.getStore(NAMESPACE).getOrComputeIfAbsent(new MethodStateKey(context.getUniqueId()),
+                        key -> new OrchestrationState(), OrchestrationState.class));
+    }
+
+    /**
+     * Hooks of test method are tracked in test method state that is removed after test method, hooks
+     * of test instance construction are tracked once per class
+     */
+    private OrchestrationState hookState(ExtensionContext context) {
+        return findMethodState(context).orElseGet(() -> state(context));
+    }
+
+    /**
+     * @return class containers and containers of current test method, method containers take
+     *             precedence
+     */
+    private List<ActiveContext<?>> contexts(ExtensionContext context) {
+        Map<Class<? extends Annotation>, ActiveContext<?>> contexts = new LinkedHashMap<>(state(context).contexts);
+        findMethodState(context).ifPresent(methodState -> contexts.putAll(methodState.contexts));
+        return new ArrayList<>(contexts.values());
+    }
+
     private List<ActiveContext<?>> effectiveContexts(ExtensionContext context, List<ActiveContext<?>> activeContexts) {
         List<ActiveContext<?>> effective = new ArrayList<>(activeContexts.size());
         for (ActiveContext<?> active : activeContexts) {
@@ -522,29 +1696,145 @@ private List<ActiveContext<?>> effectiveContexts(ExtensionContext context, List<
         return effective;
     }
 
-    private <C> ActiveContext<C> effectiveContext(ExtensionContext context, ActiveContext<C> active) {
-        if (isolation(active) == Isolation.Mode.DISABLED) {
-            return active;
+    private <C> ActiveContext<C> effectiveContext(ExtensionContext context, ActiveContext<C> shared) {
+        ActiveContext<C> active = isolationView(context, shared);
+        Isolation.Mode isolation = isolation(active);
+        if (isolation == Isolation.Mode.DISABLED) {
+            return shared;
+        }
+
+        ExtensionContext scope = (isolation == Isolation.Mode.PER_CLASS)
+                ? classContext(context)
+                : context;
+        IsolationKey key = new IsolationKey(active.provider.getClass(), scope.getUniqueId());
+        return scope.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(key, ignored -> timed(LifecycleTimings.Phase.ISOLATION, active.provider, scope,
+                        () -> createIsolatedContext(scope, active)), ActiveContext.class);
+    }
+
+    /**
+     * Shared container is started with annotation of the first test class that uses it, while
+     * namespaces of each test class follow isolation settings of its own annotation
+     */
+    private static <C> ActiveContext<C> isolationView(ExtensionContext context, ActiveContext<C> shared) {
+        Annotation annotation = findAnnotation(shared.provider.annotationType(), context).orElse(null);
+        if (annotation == null || annotation.equals(shared.annotation)) {
+            return shared;
+        }
+
+        return new ActiveContext<>(shared.provider, annotation, shared.mode, shared.context, shared.pool, shared.snapshot);
+    }
+
+    /**
+     * @return context of test class that test method, test template invocation or test class belongs to
+     */
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext current = context;
+        while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+            current = current.getParent().get();
         }
 
-        IsolationKey key = new IsolationKey(active.provider.getClass(), context.getUniqueId());
-        return context.getStore(NAMESPACE)
-                .getOrComputeIfAbsent(key, ignored -> createIsolatedContext(context, active), ActiveContext.class);
+        return current;
+    }
+
+    /**
+     * @return context of outermost test class, engine context has no parent
+     */
+    private static ExtensionContext topLevelClassContext(ExtensionContext context) {
+        ExtensionContext current = context;
+        while (current.getParent().flatMap(ExtensionContext::getParent).isPresent()) {
+            current = current.getParent().get();
+        }
+
+        return current;
     }
 
     private <A extends Annotation, C> ActiveContext<C> createIsolatedContext(ExtensionContext context,
                                                                              ActiveContext<C> active) {
         TestcontainersProvider<A, C> provider = (TestcontainersProvider<A, C>) active.provider;
         A annotation = (A) active.annotation;
-        String namespace = namespace(provider.isolationPrefix(annotation));
-        C connection = provider.createIsolatedConnection(annotation, active.context, context, namespace);
-        return new ActiveContext<>(provider, annotation, active.mode, new ConnectionOnlyContext<>(connection));
+        ConnectionOnlyContext<C> isolated = takePrefetched(context, active).orElseGet(() -> {
+            String namespace = namespace(provider.isolationPrefix(annotation));
+            C connection = provider.createIsolatedConnection(annotation, active.context, context, namespace);
+            return new ConnectionOnlyContext<>(connection, namespace, active.context);
+        });
+        // pool of container tells whether container outlives test when namespace is closed
+        return new ActiveContext<>(provider, annotation, active.mode, isolated, active.pool, null);
+    }
+
+    /**
+     * Takes isolated connection prepared in background for shared container, namespaces for next tests
+     * are prepared while current test runs
+     */
+    private <A extends Annotation, C> Optional<ConnectionOnlyContext<C>> takePrefetched(ExtensionContext context,
+                                                                                        ActiveContext<C> active) {
+        TestcontainersProvider<A, C> provider = (TestcontainersProvider<A, C>) active.provider;
+        A annotation = (A) active.annotation;
+        int prefetch = provider.isolationPrefetch(annotation);
+        if (prefetch <= 0 || active.mode == ContainerMode.PER_METHOD) {
+            return Optional.empty();
+        }
+
+        ExtensionContext root = context.getRoot();
+        WarmPool<ConnectionOnlyContext<?>> pool = PREFETCHED.computeIfAbsent(new PrefetchKey(active.context, annotation),
+                ignored -> new WarmPool<>(
+                        provider.annotationType().getSimpleName() + "[isolation=" + active.context + "]",
+                        prefetch,
+                        () -> {
+                            String namespace = namespace(provider.isolationPrefix(annotation));
+                            C connection = provider.prepareIsolatedConnection(annotation, active.context, namespace);
+                            return (connection == null)
+                                    ? null
+                                    : new ConnectionOnlyContext<>(connection, namespace, active.context);
+                        },
+                        prepared -> {
+                            if (prepared != null) {
+                                closeIsolated(provider, annotation, (ConnectionOnlyContext<C>) prepared, root, true);
+                            }
+                        },
+                        EXECUTOR));
+
+        return Optional.ofNullable((ConnectionOnlyContext<C>) pool.take());
+    }
+
+    private static void closePrefetched(ContainerContext<?> context) {
+        for (PrefetchKey key : List.copyOf(PREFETCHED.keySet())) {
+            if (key.context() == context) {
+                WarmPool<ConnectionOnlyContext<?>> pool = PREFETCHED.remove(key);
+                if (pool != null) {
+                    pool.close();
+                }
+            }
+        }
     }
 
     private void closeIsolatedContexts(ExtensionContext context, List<ActiveContext<?>> contexts) {
+        boolean failed = context.getExecutionException().isPresent();
         for (ActiveContext<?> active : contexts) {
-            if (isolation(active) != Isolation.Mode.DISABLED) {
-                closeIsolatedUnchecked(active, context);
+            if (isolation(active) == Isolation.Mode.PER_METHOD) {
+                try {
+                    closeIsolatedUnchecked(active, context, failed);
+                } finally {
+                    context.getStore(NAMESPACE).remove(new IsolationKey(active.provider.getClass(), context.getUniqueId()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes namespaces created for test class with {@link Isolation.Mode#PER_CLASS} after all its tests
+     * finished
+     */
+    private void closeClassIsolatedContexts(ExtensionContext context) {
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        boolean failed = store.remove(new FailedKey(context.getUniqueId())) != null;
+        for (ActiveContext<?> active : contexts(context)) {
+            if (isolation(active) == Isolation.Mode.PER_CLASS) {
+                ActiveContext<?> isolated = store.remove(new IsolationKey(active.provider.getClass(), context.getUniqueId()),
+                        ActiveContext.class);
+                if (isolated != null) {
+                    closeIsolatedUnchecked(isolated, context, failed);
+                }
             }
         }
     }
@@ -562,7 +1852,7 @@ private static String namespace(String prefix) {
 
     private void validateIsolationLifecycle(ExtensionContext context) {
         TestInstance.Lifecycle lifecycle = context.getTestClass()
-                .flatMap(testClass -> AnnotationSupport.findAnnotation(testClass, TestInstance.class)
+                .flatMap(testClass -> TestClassMetadata.of(testClass).annotation(TestInstance.class)
                         .map(TestInstance::value))
                 .or(() -> context.getTestInstanceLifecycle())
                 .orElse(TestInstance.Lifecycle.PER_METHOD);
@@ -570,7 +1860,7 @@ private void validateIsolationLifecycle(ExtensionContext context) {
             return;
         }
 
-        for (TestcontainersProvider<?, ?> provider : providers) {
+        for (TestcontainersProvider<?, ?> provider : PROVIDERS) {
             Optional<? extends ActiveProvider<?, ?>> activeProvider = findActiveProvider(provider.annotationType(), context);
             if (activeProvider.isPresent() && isolation(activeProvider.get()) == Isolation.Mode.PER_METHOD) {
                 throw new ExtensionConfigurationException("@%s with Isolation.Mode.PER_METHOD can't be used with %s"
@@ -581,7 +1871,7 @@ private void validateIsolationLifecycle(ExtensionContext context) {
 
     private static void validateIsolationParameter(ActiveProvider<?, ?> activeProvider,
                                                    ParameterContext parameterContext) {
-        if (isolation(activeProvider) == Isolation.Mode.DISABLED) {
+        if (isolation(activeProvider) != Isolation.Mode.PER_METHOD) {
             return;
         }
 
@@ -626,102 +1916,53 @@ private static <A extends Annotation> Isolation.Mode isolationUnchecked(ActiveCo
         return ((TestcontainersProvider<A, ?>) active.provider).isolation((A) active.annotation);
     }
 
-    private List<ActiveContext<?>> startAll(ExtensionContext context,
-                                            OrchestrationState state,
-                                            List<ActiveProvider<?, ?>> activeProviders) {
-        List<ActiveContext<?>> started = new ArrayList<>();
-        Set<Class<? extends Annotation>> available = new HashSet<>(state.contexts.keySet());
-        Set<Class<? extends Annotation>> activeAnnotations = new HashSet<>();
-        activeProviders.forEach(provider -> activeAnnotations.add(provider.provider.annotationType()));
-
-        List<ActiveProvider<?, ?>> remaining = new ArrayList<>(activeProviders);
-        while (!remaining.isEmpty()) {
-            List<ActiveProvider<?, ?>> batch = remaining.stream()
-                    .filter(provider -> dependencies(provider).stream()
-                            .allMatch(dependency -> available.contains(dependency) || !activeAnnotations.contains(dependency)))
-                    .toList();
-            validateDependencies(batch, remaining, available, activeAnnotations);
-            List<ActiveContext<?>> batchStarted = runStartBatch(context, batch);
-            started.addAll(batchStarted);
-            batchStarted.forEach(active -> available.add(active.provider.annotationType()));
-            remaining.removeAll(batch);
-        }
-
-        return started;
-    }
-
-    private List<ActiveContext<?>> runStartBatch(ExtensionContext context, List<ActiveProvider<?, ?>> batch) {
-        List<CompletableFuture<ActiveContext<?>>> futures = new ArrayList<>();
-        for (ActiveProvider<?, ?> activeProvider : batch) {
-            futures.add(CompletableFuture.supplyAsync(() -> (ActiveContext<?>) startOne(context, activeProvider), EXECUTOR));
-        }
-
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .toList();
+    private List<ActiveContext<?>> startAll(ExtensionContext context, List<ActiveProvider<?, ?>> activeProviders) {
+        return DependencyScheduler.of(activeProviders,
+                provider -> provider.provider.annotationType(),
+                TestcontainersOrchestratorExtension::dependencies,
+                false)
+                .run(activeProvider -> timed(LifecycleTimings.Phase.START, activeProvider.provider, context,
+                        () -> (ActiveContext<?>) startOne(context, activeProvider)), EXECUTOR);
     }
 
     private void runContextHooks(ExtensionContext context,
                                  List<ActiveContext<?>> activeContexts,
                                  boolean reverse,
+                                 LifecycleTimings.Phase phase,
                                  BiConsumer<ActiveContext<?>, ExtensionContext> hook) {
-        Set<Class<? extends Annotation>> activeAnnotations = new HashSet<>();
-        activeContexts.forEach(active -> activeAnnotations.add(active.provider.annotationType()));
-        Set<Class<? extends Annotation>> done = new HashSet<>();
-        List<ActiveContext<?>> remaining = new ArrayList<>(activeContexts);
-
-        while (!remaining.isEmpty()) {
-            List<ActiveContext<?>> batch = remaining.stream()
-                    .filter(active -> {
-                        Set<Class<? extends Annotation>> dependencies = dependencies(active);
-                        if (reverse) {
-                            return remaining.stream()
-                                    .filter(other -> other != active)
-                                    .noneMatch(other -> dependencies(other).contains(active.provider.annotationType()));
-                        } else {
-                            return dependencies.stream()
-                                    .allMatch(dependency -> done.contains(dependency) || !activeAnnotations.contains(dependency));
-                        }
-                    })
-                    .toList();
-            if (batch.isEmpty()) {
-                throw new ExtensionConfigurationException("Cycle detected in Testcontainers provider dependencies");
-            }
-
-            runHookBatch(context, batch, hook);
-            batch.forEach(active -> done.add(active.provider.annotationType()));
-            remaining.removeAll(batch);
-        }
-    }
-
-    private void runHookBatch(ExtensionContext context,
-                              List<ActiveContext<?>> batch,
-                              BiConsumer<ActiveContext<?>, ExtensionContext> hook) {
-        List<CompletableFuture<Void>> futures = batch.stream()
-                .map(active -> CompletableFuture.runAsync(() -> hook.accept(active, context), EXECUTOR))
-                .toList();
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        DependencyScheduler.of(activeContexts,
+                active -> active.provider.annotationType(),
+                TestcontainersOrchestratorExtension::dependencies,
+                reverse)
+                .run(active -> timed(phase, active.provider, context, () -> {
+                    hook.accept(active, context);
+                    return active;
+                }), EXECUTOR);
     }
 
-    private void validateDependencies(List<ActiveProvider<?, ?>> batch,
-                                      List<ActiveProvider<?, ?>> remaining,
-                                      Set<Class<? extends Annotation>> available,
-                                      Set<Class<? extends Annotation>> activeAnnotations) {
-        if (!batch.isEmpty()) {
-            return;
+    private static <T> T timed(LifecycleTimings.Phase phase,
+                               TestcontainersProvider<?, ?> provider,
+                               ExtensionContext context,
+                               Supplier<T> action) {
+        ContainerLifecycleEvent event = ContainerLifecycleEvent.start(phase.name());
+        String testClass = context.getTestClass().map(Class::getName).orElse(null);
+        try {
+            LifecycleTimings timings = TIMINGS;
+            return (timings == null)
+                    ? action.get()
+                    : timings.time(phase, provider.annotationType(), testClass, action);
+        } finally {
+            event.commit(provider.annotationType().getSimpleName(), null, testClass);
         }
+    }
 
-        for (ActiveProvider<?, ?> provider : remaining) {
-            for (Class<? extends Annotation> dependency : dependencies(provider)) {
-                if (!available.contains(dependency) && !activeAnnotations.contains(dependency)) {
-                    throw new ExtensionConfigurationException("Provider %s depends on missing annotation %s"
-                            .formatted(provider.provider.getClass().getName(), dependency.getName()));
-                }
-            }
+    private static void stopRecorded(ContainerContext<?> context) {
+        ContainerLifecycleEvent event = ContainerLifecycleEvent.start(LifecycleTimings.Phase.STOP.name());
+        try {
+            context.stop();
+        } finally {
+            event.commit(null, context, null);
         }
-
-        throw new ExtensionConfigurationException("Cycle detected in Testcontainers provider dependencies");
     }
 
     private static <A extends Annotation> Set<Class<? extends Annotation>> dependencies(ActiveProvider<A, ?> provider) {
@@ -732,10 +1973,10 @@ private static <A extends Annotation> Set<Class<? extends Annotation>> dependenc
         return ((TestcontainersProvider<A, ?>) active.provider).dependencies((A) active.annotation);
     }
 
-    private <A extends Annotation> void configureNetwork(ExtensionContext context,
-                                                         TestcontainersProvider<A, ?> provider,
+    private <A extends Annotation> void configureNetwork(TestcontainersProvider<A, ?> provider,
                                                          A annotation,
-                                                         GenericContainer<?> container) {
+                                                         GenericContainer<?> container,
+                                                         Optional<org.testcontainers.containers.Network> networkFromField) {
         String alias = provider.networkAlias(annotation);
         if (alias != null && !alias.isBlank() && !container.getNetworkAliases().contains(alias)) {
             List<String> aliases = new ArrayList<>(container.getNetworkAliases());
@@ -743,7 +1984,6 @@ private <A extends Annotation> void configureNetwork(ExtensionContext context,
             container.setNetworkAliases(aliases);
         }
 
-        Optional<org.testcontainers.containers.Network> networkFromField = findNetworkFromField(context);
         if (networkFromField.isPresent()) {
             container.withNetwork(networkFromField.get());
         } else if (provider.networkShared(annotation) && container.getNetwork() == null) {
@@ -760,7 +2000,20 @@ private static <C> void injectUnchecked(ActiveContext<C> active, Field field, Ob
     }
 
     private static <A extends Annotation, C> void afterStartUnchecked(ActiveContext<C> active, ExtensionContext extension) {
-        ((TestcontainersProvider<A, C>) active.provider).afterStart((A) active.annotation, active.context, extension);
+        boolean firstStart = active.snapshot != null && active.snapshot.firstStart();
+        if (firstStart && active.snapshot.restored()) {
+            logger.debug("Skipping migrations for container restored from snapshot image: {}", active.snapshot.image());
+        } else {
+            ((TestcontainersProvider<A, C>) active.provider).afterStart((A) active.annotation, active.context, extension);
+            if (firstStart) {
+                active.snapshot.commit();
+            }
+        }
+
+        ReuseFingerprint fingerprint = REUSED.get(active.context);
+        if (fingerprint != null) {
+            fingerprint.write();
+        }
     }
 
     private static <A extends Annotation, C> void beforeStopUnchecked(ActiveContext<C> active, ExtensionContext extension) {
@@ -775,13 +2028,58 @@ private static <A extends Annotation, C> void afterEachUnchecked(ActiveContext<C
         ((TestcontainersProvider<A, C>) active.provider).afterEach((A) active.annotation, active.context, extension);
     }
 
-    private static <A extends Annotation, C> void closeIsolatedUnchecked(ActiveContext<C> active, ExtensionContext extension) {
-        ((TestcontainersProvider<A, C>) active.provider)
-                .closeIsolatedConnection((A) active.annotation, active.context.connection(), extension);
+    private static <A extends Annotation, C> void closeIsolatedUnchecked(ActiveContext<C> active,
+                                                                         ExtensionContext extension,
+                                                                         boolean failed) {
+        TestcontainersProvider<A, C> provider = (TestcontainersProvider<A, C>) active.provider;
+        A annotation = (A) active.annotation;
+        Isolation.Keep keep = provider.isolationKeep(annotation);
+        // method containers are stopped right after test together with their namespaces, while recycled
+        // pool containers are reset and reused, so their namespaces are dropped before container is recycled
+        boolean stopped = active.mode == ContainerMode.PER_METHOD && (active.pool == null || !recycleUnchecked(active));
+        boolean drop = !stopped && (keep == Isolation.Keep.NONE || (keep == Isolation.Keep.FAILED && !failed));
+        closeIsolated(provider, annotation, (ConnectionOnlyContext<C>) active.context, extension, drop);
+    }
+
+    /**
+     * Closes isolated connection and schedules its namespace drop in background
+     */
+    private static <A extends Annotation, C> void closeIsolated(TestcontainersProvider<A, C> provider,
+                                                                A annotation,
+                                                                ConnectionOnlyContext<C> isolated,
+                                                                ExtensionContext extension,
+                                                                boolean drop) {
+        provider.closeIsolatedConnection(annotation, isolated.connection, extension);
+        if (drop) {
+            RECLAIMER.reclaim(isolated.container, isolated.namespace,
+                    namespaces -> provider.dropIsolatedNamespaces(annotation, isolated.container, namespaces));
+        }
     }
 
     private static void stopUnchecked(ActiveContext<?> active) {
-        active.context.stop();
+        stopRecorded(active.context);
+    }
+
+    private static void stopContext(ContainerContext<?> context) {
+        stopRecorded(context);
+    }
+
+    private static <A extends Annotation, C> boolean resetUnchecked(ActiveContext<C> active, ContainerContext<?> context) {
+        return ((TestcontainersProvider<A, C>) active.provider).reset((A) active.annotation, (ContainerContext<C>) context);
+    }
+
+    private static <A extends Annotation> boolean recycleUnchecked(ActiveContext<?> active) {
+        return ((TestcontainersProvider<A, ?>) active.provider).poolRecycle((A) active.annotation);
+    }
+
+    private static void release(ActiveContext<?> active) {
+        if (active.pool != null && recycleUnchecked(active)) {
+            active.pool.recycle(active.context, context -> resetUnchecked(active, context));
+        } else if (active.pool != null) {
+            active.pool.release(active.context);
+        } else {
+            stopUnchecked(active);
+        }
     }
 
     private static List<TestcontainersProvider<?, ?>> loadProviders() {
@@ -4,6 +4,7 @@
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import org.jetbrains.annotations.NotNull;
@@ -46,19 +47,98 @@ default Set<Class<? extends Annotation>> dependencies(@NotNull A annotation) {
     }
 
     default Isolation.Mode isolation(@NotNull A annotation) {
+        Isolation isolation = isolationConfig(annotation);
+        return (isolation == null)
+                ? Isolation.Mode.DISABLED
+                : isolation.value();
+    }
+
+    default int isolationPrefetch(@NotNull A annotation) {
+        Isolation isolation = isolationConfig(annotation);
+        return (isolation == null)
+                ? 0
+                : isolation.prefetch();
+    }
+
+    default Isolation.Keep isolationKeep(@NotNull A annotation) {
+        Isolation isolation = isolationConfig(annotation);
+        return (isolation == null)
+                ? Isolation.Keep.NONE
+                : isolation.keep();
+    }
+
+    private Isolation isolationConfig(@NotNull A annotation) {
         try {
             Method isolation = annotation.annotationType().getMethod("isolation");
             Object value = isolation.invoke(annotation);
             return (value instanceof Isolation configured)
-                    ? configured.value()
-                    : Isolation.Mode.DISABLED;
+                    ? configured
+                    : null;
         } catch (NoSuchMethodException e) {
-            return Isolation.Mode.DISABLED;
+            return null;
         } catch (Exception e) {
             throw new IllegalStateException("@%s isolation() can't read".formatted(annotationType().getSimpleName()), e);
         }
     }
 
+    default int poolSize(@NotNull A annotation) {
+        Pool pool = pool(annotation);
+        return (pool == null)
+                ? 0
+                : pool.value();
+    }
+
+    default boolean poolRecycle(@NotNull A annotation) {
+        Pool pool = pool(annotation);
+        return pool != null && pool.recycle();
+    }
+
+    default int poolReplicas(@NotNull A annotation) {
+        Pool pool = pool(annotation);
+        return (pool == null)
+                ? 1
+                : pool.replicas();
+    }
+
+    default Pool.Assignment poolAssignment(@NotNull A annotation) {
+        Pool pool = pool(annotation);
+        return (pool == null)
+                ? Pool.Assignment.LEAST_LOAD
+                : pool.assignment();
+    }
+
+    private Pool pool(@NotNull A annotation) {
+        try {
+            Method pool = annotation.annotationType().getMethod("pool");
+            Object value = pool.invoke(annotation);
+            return (value instanceof Pool configured)
+                    ? configured
+                    : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("@%s pool() can't read".formatted(annotationType().getSimpleName()), e);
+        }
+    }
+
+    /**
+     * @param annotation of container
+     * @return CPU and memory limits of container, null if annotation doesn't configure them
+     */
+    default Resources resources(@NotNull A annotation) {
+        try {
+            Method resources = annotation.annotationType().getMethod("resources");
+            Object value = resources.invoke(annotation);
+            return (value instanceof Resources configured)
+                    ? configured
+                    : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (Exception e) {
+            throw new IllegalStateException("@%s resources() can't read".formatted(annotationType().getSimpleName()), e);
+        }
+    }
+
     default String isolationPrefix(@NotNull A annotation) {
         return annotationType().getSimpleName().toLowerCase(Locale.ROOT);
     }
@@ -73,8 +153,25 @@ default String isolationPrefix(@NotNull A annotation) {
                                                 @NotNull ContainerContext<C> context,
                                                 @NotNull ExtensionContext extension,
                                                 @NotNull String namespace) {
-        throw new UnsupportedOperationException("@%s doesn't support Isolation.Mode.PER_METHOD"
-                .formatted(annotationType().getSimpleName()));
+        throw new UnsupportedOperationException("@%s doesn't support Isolation.Mode.%s"
+                .formatted(annotationType().getSimpleName(), isolation(annotation)));
+    }
+
+    /**
+     * Prepares isolated connection with its namespace ahead of test in background, used when
+     * {@link Isolation#prefetch()} is enabled, so test only takes connection that is already created
+     *
+     * @param annotation provider annotation
+     * @param context    container context where namespace is created
+     * @param namespace  namespace to create
+     * @return prepared connection or null if provider can't prepare connection ahead of test and
+     *             {@link #createIsolatedConnection(Annotation, ContainerContext, ExtensionContext, String)}
+     *             is used
+     */
+    default C prepareIsolatedConnection(@NotNull A annotation,
+                                        @NotNull ContainerContext<C> context,
+                                        @NotNull String namespace) {
+        return null;
     }
 
     default void closeIsolatedConnection(@NotNull A annotation,
@@ -89,6 +186,66 @@ default void closeIsolatedConnection(@NotNull A annotation,
         }
     }
 
+    /**
+     * Drops isolated namespaces of finished tests, called in background with batches of namespaces
+     * after their connections are closed
+     *
+     * @param annotation provider annotation
+     * @param context    container context where namespaces are created
+     * @param namespaces namespaces to drop
+     */
+    default void dropIsolatedNamespaces(@NotNull A annotation,
+                                        @NotNull ContainerContext<C> context,
+                                        @NotNull List<String> namespaces) {}
+
+    /**
+     * Resets container state in place so container can be reused by next test as if it was just
+     * started, used when {@link Pool#recycle()} is enabled or container reused from previous test run
+     * has outdated state
+     *
+     * @param annotation provider annotation
+     * @param context    container context to reset
+     * @return true if container was reset, false if provider doesn't support reset and container must
+     *             be restarted
+     */
+    default boolean reset(@NotNull A annotation, @NotNull ContainerContext<C> context) {
+        return false;
+    }
+
+    /**
+     * Migrations applied in {@link #afterStart(Annotation, ContainerContext, ExtensionContext)}, their
+     * content is part of fingerprint of container reused across test runs
+     *
+     * @param annotation provider annotation
+     * @return applied migrations or null if provider doesn't apply migrations
+     */
+    default MigrationSnapshot migrations(@NotNull A annotation) {
+        return null;
+    }
+
+    /**
+     * Migrations applied in {@link #afterStart(Annotation, ContainerContext, ExtensionContext)}, when
+     * not null container is committed to local snapshot image after first migration and later runs
+     * with unchanged migrations start from snapshot image and skip {@link #afterStart}
+     *
+     * @param annotation provider annotation
+     * @return migrations to snapshot or null if snapshot is disabled
+     */
+    default MigrationSnapshot snapshot(@NotNull A annotation) {
+        return null;
+    }
+
+    /**
+     * Configures container that is not started yet to start from snapshot image
+     *
+     * @param annotation provider annotation
+     * @param container  container to start from snapshot image
+     * @param image      snapshot image
+     */
+    default void restoreSnapshot(@NotNull A annotation, @NotNull GenericContainer<?> container, @NotNull String image) {
+        container.setDockerImageName(image);
+    }
+
     default void afterStart(@NotNull A annotation, @NotNull ContainerContext<C> context, @NotNull ExtensionContext extension) {}
 
     default void beforeEach(@NotNull A annotation, @NotNull ContainerContext<C> context, @NotNull ExtensionContext extension) {}
@@ -0,0 +1,170 @@
+package io.goodforgod.testcontainers.extensions;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps fixed number of resources created ahead in background and disposes or recycles released
+ * resources in background.
+ *
+ * @param <T> pooled resource type
+ */
+final class WarmPool<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmPool.class);
+
+    private final String name;
+    private final int size;
+    private final Supplier<T> factory;
+    private final Consumer<T> disposer;
+    private final Executor executor;
+
+    private final Deque<CompletableFuture<T>> warm = new ArrayDeque<>();
+    private final Set<CompletableFuture<Void>> disposing = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private boolean closed = false;
+
+    WarmPool(String name, int size, Supplier<T> factory, Consumer<T> disposer, Executor executor) {
+        this.name = name;
+        this.size = size;
+        this.factory = factory;
+        this.disposer = disposer;
+        this.executor = executor;
+    }
+
+    /**
+     * Takes resource that is already created if available, otherwise waits for resource that is
+     * being created or creates one in current thread. Pool is refilled in background after each take.
+     * Factory may return null when resource can't be created ahead, such take is counted as miss.
+     *
+     * @return resource or null if factory didn't create it
+     */
+    T take() {
+        CompletableFuture<T> next;
+        synchronized (this) {
+            next = warm.poll();
+            fill();
+        }
+
+        if (next != null && next.isDone() && !next.isCompletedExceptionally()) {
+            T resource = next.join();
+            if (resource != null) {
+                hits.incrementAndGet();
+                logger.debug("Warm pool {} hit", name);
+                return resource;
+            }
+        }
+
+        misses.incrementAndGet();
+        logger.debug("Warm pool {} miss", name);
+        if (next != null) {
+            try {
+                T resource = next.join();
+                if (resource != null) {
+                    return resource;
+                }
+            } catch (CompletionException e) {
+                logger.warn("Warm pool {} failed to create resource in background, creating in place", name, e.getCause());
+            }
+        }
+
+        return factory.get();
+    }
+
+    /**
+     * Disposes resource in background
+     *
+     * @param resource to dispose
+     */
+    void release(T resource) {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> disposer.accept(resource), executor);
+        disposing.add(future);
+        future.whenComplete((r, e) -> {
+            disposing.remove(future);
+            if (e != null) {
+                logger.warn("Warm pool {} failed to dispose resource: {}", name, resource, e);
+            }
+        });
+    }
+
+    /**
+     * Resets resource in background and returns it to pool, so next {@link #take()} receives it first.
+     * Resource that failed to reset is disposed and replaced with newly created one.
+     *
+     * @param resource to recycle
+     * @param reset    resets resource in place, returns false if resource can't be reset
+     */
+    void recycle(T resource, Predicate<T> reset) {
+        synchronized (this) {
+            if (!closed) {
+                warm.addFirst(CompletableFuture.supplyAsync(() -> resetOrReplace(resource, reset), executor));
+                return;
+            }
+        }
+
+        release(resource);
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    /**
+     * Disposes all warm resources and waits for all pending disposals
+     */
+    void close() {
+        List<CompletableFuture<T>> remaining;
+        synchronized (this) {
+            closed = true;
+            remaining = new ArrayList<>(warm);
+            warm.clear();
+        }
+
+        for (CompletableFuture<T> future : remaining) {
+            future.thenAccept(this::release).exceptionally(e -> null).join();
+        }
+
+        CompletableFuture.allOf(disposing.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        logger.info("Warm pool {} closed with hits: {}, misses: {}", name, hits.get(), misses.get());
+    }
+
+    private T resetOrReplace(T resource, Predicate<T> reset) {
+        try {
+            if (reset.test(resource)) {
+                logger.debug("Warm pool {} recycled resource: {}", name, resource);
+                return resource;
+            }
+
+            logger.debug("Warm pool {} resource can't be reset, replacing: {}", name, resource);
+        } catch (Exception e) {
+            logger.warn("Warm pool {} failed to reset resource, replacing: {}", name, resource, e);
+        }
+
+        disposer.accept(resource);
+        return factory.get();
+    }
+
+    private void fill() {
+        while (!closed && warm.size() < size) {
+            warm.add(CompletableFuture.supplyAsync(factory, executor));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConnectionEventTests {
+
+    @Test
+    void committedWhenRecording(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ConnectionEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(ContainerLifecycleEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            ConnectionEvent.start().commit("postgresql", "queryMany", "SELECT 1", 1);
+            ContainerLifecycleEvent.start("AFTER_START").commit("TestcontainersRedis", null, "ExampleTests");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("io.goodforgod.testcontainers.extensions."))
+                .sorted(Comparator.comparing(event -> event.getEventType().getName()))
+                .toList();
+        assertEquals(2, events.size());
+        assertEquals("postgresql", events.get(0).getString("provider"));
+        assertEquals("queryMany", events.get(0).getString("operation"));
+        assertEquals("SELECT 1", events.get(0).getString("target"));
+        assertEquals(1, events.get(0).getInt("count"));
+        assertEquals("TestcontainersRedis", events.get(1).getString("provider"));
+        assertEquals("AFTER_START", events.get(1).getString("phase"));
+        assertEquals("ExampleTests", events.get(1).getString("testClass"));
+    }
+
+    @Test
+    void fieldsNotSetWithoutRecording() {
+        ConnectionEvent event = ConnectionEvent.start();
+        event.commit("postgresql", "execute", "SELECT 1", 0);
+
+        assertFalse(event.isEnabled());
+        assertNull(event.provider);
+        assertNull(event.target);
+    }
+}
@@ -0,0 +1,54 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ContainerAffinityClassOrdererTests {
+
+    @Test
+    void classesWithSameContainersRunBackToBack() {
+        Map<String, Set<String>> containers = Map.of(
+                "PostgresFirst", Set.of("postgres"),
+                "RedisFirst", Set.of("redis"),
+                "PostgresSecond", Set.of("postgres"),
+                "RedisSecond", Set.of("redis"),
+                "PostgresThird", Set.of("postgres"));
+
+        List<String> ordered = ContainerAffinityClassOrderer.order(
+                List.of("PostgresFirst", "RedisFirst", "PostgresSecond", "RedisSecond", "PostgresThird"),
+                containers::get);
+
+        assertEquals(List.of("PostgresFirst", "PostgresSecond", "PostgresThird", "RedisFirst", "RedisSecond"), ordered);
+    }
+
+    @Test
+    void nextGroupSharesMostContainersWithPrevious() {
+        Map<String, Set<String>> containers = Map.of(
+                "Kafka", Set.of("kafka"),
+                "PostgresRedis", Set.of("postgres", "redis"),
+                "Postgres", Set.of("postgres"),
+                "PostgresRedisSecond", Set.of("postgres", "redis"));
+
+        List<String> ordered = ContainerAffinityClassOrderer.order(
+                List.of("Kafka", "PostgresRedis", "Postgres", "PostgresRedisSecond"),
+                containers::get);
+
+        assertEquals(List.of("PostgresRedis", "PostgresRedisSecond", "Postgres", "Kafka"), ordered);
+    }
+
+    @Test
+    void classesWithoutContainersRunFirst() {
+        Map<String, Set<String>> containers = Map.of(
+                "Postgres", Set.of("postgres"),
+                "Plain", Set.of(),
+                "PlainSecond", Set.of());
+
+        List<String> ordered = ContainerAffinityClassOrderer.order(List.of("Postgres", "Plain", "PlainSecond"), containers::get);
+
+        assertEquals(List.of("Plain", "PlainSecond", "Postgres"), ordered);
+    }
+}
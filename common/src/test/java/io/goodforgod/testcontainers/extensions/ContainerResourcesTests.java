@@ -0,0 +1,68 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.annotation.Annotation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+class ContainerResourcesTests {
+
+    @Test
+    void memoryParsedWithSuffix() {
+        assertEquals(0, ContainerResources.memoryBytes(resources(0, "", "")));
+        assertEquals(8L * 1024 * 1024, ContainerResources.memoryBytes(resources(0, "8388608", "")));
+        assertEquals(512L * 1024 * 1024, ContainerResources.memoryBytes(resources(0, "512m", "")));
+        assertEquals(512L * 1024 * 1024, ContainerResources.memoryBytes(resources(0, "524288K", "")));
+        assertEquals(2L * 1024 * 1024 * 1024, ContainerResources.memoryBytes(resources(0, " 2g ", "")));
+    }
+
+    @Test
+    void invalidMemoryRejected() {
+        assertThrows(ExtensionConfigurationException.class, () -> ContainerResources.memoryBytes(resources(0, "2gb", "")));
+        assertThrows(ExtensionConfigurationException.class, () -> ContainerResources.memoryBytes(resources(0, "-1m", "")));
+        assertThrows(ExtensionConfigurationException.class, () -> ContainerResources.memoryBytes(resources(0, "1m", "")));
+        assertThrows(ExtensionConfigurationException.class,
+                () -> ContainerResources.memoryBytes(resources(0, "99999999999999999g", "")));
+    }
+
+    @Test
+    void heapIsHalfOfMemory() {
+        assertEquals(0, ContainerResources.heapMegabytes(resources(2, "", "")));
+        assertEquals(1024, ContainerResources.heapMegabytes(resources(0, "2g", "")));
+        assertEquals(256, ContainerResources.heapMegabytes(resources(0, "512m", "")));
+    }
+
+    @Test
+    void limitedWhenAnyLimitConfigured() {
+        assertFalse(ContainerResources.limited(resources(0, "", "")));
+        assertTrue(ContainerResources.limited(resources(0.5, "", "")));
+        assertTrue(ContainerResources.limited(resources(0, "1g", "")));
+        assertTrue(ContainerResources.limited(resources(0, "", "0-1")));
+    }
+
+    private static Resources resources(double cpus, String memory, String cpuset) {
+        return new Resources() {
+
+            @Override
+            public double cpus() {
+                return cpus;
+            }
+
+            @Override
+            public String memory() {
+                return memory;
+            }
+
+            @Override
+            public String cpuset() {
+                return cpuset;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Resources.class;
+            }
+        };
+    }
+}
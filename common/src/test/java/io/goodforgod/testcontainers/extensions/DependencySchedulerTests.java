@@ -0,0 +1,99 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+class DependencySchedulerTests {
+
+    @interface Slow {}
+
+    @interface Fast {}
+
+    @interface AfterFast {}
+
+    private record Node(Class<? extends Annotation> id, Set<Class<? extends Annotation>> dependencies, long sleepMillis) {}
+
+    private record Interval(long start, long end) {}
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void dependentStartsWithoutWaitingForUnrelatedSlowNode() {
+        var slow = new Node(Slow.class, Set.of(), 600);
+        var fast = new Node(Fast.class, Set.of(), 50);
+        var afterFast = new Node(AfterFast.class, Set.of(Fast.class), 50);
+        Map<Class<?>, Interval> timeline = new ConcurrentHashMap<>();
+
+        var scheduler = DependencyScheduler.of(List.of(slow, fast, afterFast), Node::id, Node::dependencies, false);
+        scheduler.run(node -> {
+            long start = System.nanoTime();
+            sleep(node.sleepMillis());
+            timeline.put(node.id(), new Interval(start, System.nanoTime()));
+            return node;
+        }, executor);
+
+        assertTrue(timeline.get(Fast.class).end() <= timeline.get(AfterFast.class).start(),
+                "Expected dependent to start after its dependency");
+        assertTrue(timeline.get(AfterFast.class).end() < timeline.get(Slow.class).end(),
+                "Expected dependent to finish while unrelated slow node is still running");
+    }
+
+    @Test
+    void reverseOrderRunsDependentsFirst() {
+        var fast = new Node(Fast.class, Set.of(), 0);
+        var afterFast = new Node(AfterFast.class, Set.of(Fast.class), 0);
+
+        var scheduler = DependencyScheduler.of(List.of(fast, afterFast), Node::id, Node::dependencies, true);
+        assertEquals(List.of(afterFast, fast), scheduler.order());
+    }
+
+    @Test
+    void cycleIsRejected() {
+        var fast = new Node(Fast.class, Set.of(AfterFast.class), 0);
+        var afterFast = new Node(AfterFast.class, Set.of(Fast.class), 0);
+
+        assertThrows(ExtensionConfigurationException.class,
+                () -> DependencyScheduler.of(List.of(fast, afterFast), Node::id, Node::dependencies, false));
+    }
+
+    @Test
+    void failedDependencySkipsDependents() {
+        var fast = new Node(Fast.class, Set.of(), 0);
+        var afterFast = new Node(AfterFast.class, Set.of(Fast.class), 0);
+        Set<Class<?>> executed = ConcurrentHashMap.newKeySet();
+
+        var scheduler = DependencyScheduler.of(List.of(fast, afterFast), Node::id, Node::dependencies, false);
+        assertThrows(RuntimeException.class, () -> scheduler.run(node -> {
+            executed.add(node.id());
+            if (node.id() == Fast.class) {
+                throw new IllegalStateException("failed");
+            }
+            return node;
+        }, executor));
+        assertEquals(Set.of(Fast.class), executed);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
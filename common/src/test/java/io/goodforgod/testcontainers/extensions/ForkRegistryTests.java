@@ -0,0 +1,108 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.io.TempDir;
+
+class ForkRegistryTests {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void containerIsStoppedByLastFork() {
+        var first = new ForkRegistry(directory, ProcessHandle.current().pid());
+        var second = new ForkRegistry(directory, ProcessHandle.current().parent().orElseThrow().pid());
+
+        assertEquals("started", first.acquire("postgres", () -> "started"));
+        assertEquals("attached", second.acquire("postgres", () -> "attached"));
+
+        assertFalse(first.release("postgres"));
+        assertTrue(second.release("postgres"));
+    }
+
+    @Test
+    void acquireWaitsUntilReleasedContainerIsStopped() throws Exception {
+        var first = new ForkRegistry(directory, ProcessHandle.current().pid());
+        var second = new ForkRegistry(directory, ProcessHandle.current().parent().orElseThrow().pid());
+
+        first.acquire("postgres", () -> "started");
+        assertTrue(first.release("postgres"));
+        var acquired = CompletableFuture.supplyAsync(() -> second.acquire("postgres", () -> "restarted"));
+        Thread.sleep(300);
+        assertFalse(acquired.isDone(), "Expected acquire to wait for container stop");
+
+        first.stopped("postgres");
+        assertEquals("restarted", acquired.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void acquireFailsWhenContainerIsNotStoppedInTime() {
+        long stoppingFork = ProcessHandle.current().pid();
+        var first = new ForkRegistry(directory, stoppingFork);
+        var second = new ForkRegistry(directory, ProcessHandle.current().parent().orElseThrow().pid(), Duration.ofMillis(300));
+
+        first.acquire("postgres", () -> "started");
+        assertTrue(first.release("postgres"));
+        var e = assertThrows(ExtensionConfigurationException.class, () -> second.acquire("postgres", () -> "restarted"));
+        assertTrue(e.getMessage().contains("pid " + stoppingFork), e.getMessage());
+        assertTrue(e.getMessage().contains(".stopping"), e.getMessage());
+    }
+
+    @Test
+    void stoppingMarkOfDeadForkIsForgotten() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-version").start();
+        process.waitFor();
+        var dead = new ForkRegistry(directory, process.pid());
+        var alive = new ForkRegistry(directory);
+
+        dead.acquire("postgres", () -> "started");
+        assertTrue(dead.release("postgres"));
+        assertEquals("restarted", alive.acquire("postgres", () -> "restarted"));
+    }
+
+    @Test
+    void deadForksAreForgotten() throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-version").start();
+        process.waitFor();
+        var dead = new ForkRegistry(directory, process.pid());
+        var alive = new ForkRegistry(directory);
+
+        dead.acquire("postgres", () -> "started");
+        alive.acquire("postgres", () -> "attached");
+        assertTrue(alive.release("postgres"));
+    }
+
+    @Test
+    void startIsSerializedAcrossForks() {
+        var first = new ForkRegistry(directory, ProcessHandle.current().pid());
+        var second = new ForkRegistry(directory, ProcessHandle.current().parent().orElseThrow().pid());
+        var starting = new AtomicInteger();
+        var maxStarting = new AtomicInteger();
+
+        var futures = new CompletableFuture<?>[10];
+        for (int i = 0; i < futures.length; i++) {
+            ForkRegistry registry = (i % 2 == 0) ? first : second;
+            futures[i] = CompletableFuture.runAsync(() -> registry.acquire("postgres", () -> {
+                maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return starting.decrementAndGet();
+            }));
+        }
+
+        CompletableFuture.allOf(futures).join();
+        assertEquals(1, maxStarting.get());
+    }
+}
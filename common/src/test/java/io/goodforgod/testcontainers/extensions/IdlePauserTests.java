@@ -0,0 +1,127 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class IdlePauserTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void pausedWhenLastClassReleasesAndUnpausedOnAcquire() throws Exception {
+        IdlePauser<String> pauser = new IdlePauser<>(executor, key -> {});
+        pauser.register("kafka", control("kafka"));
+
+        pauser.acquire("kafka");
+        pauser.acquire("kafka");
+        pauser.release("kafka");
+        assertFalse(pauser.paused("kafka"));
+
+        pauser.release("kafka");
+        awaitPaused(pauser, "kafka");
+        assertEquals(List.of("pause kafka"), calls);
+
+        pauser.acquire("kafka");
+        assertFalse(pauser.paused("kafka"));
+        assertEquals(List.of("pause kafka", "unpause kafka"), calls);
+    }
+
+    @Test
+    void notPausedWhenAcquiredBeforeBackgroundPause() throws Exception {
+        CountDownLatch pausing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IdlePauser<String> pauser = new IdlePauser<>(executor, key -> {
+            pausing.countDown();
+            await(release);
+        });
+        pauser.register("cassandra", control("cassandra"));
+
+        pauser.acquire("cassandra");
+        pauser.release("cassandra");
+        assertTrue(pausing.await(5, TimeUnit.SECONDS));
+        pauser.acquire("cassandra");
+        release.countDown();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(pauser.paused("cassandra"));
+        assertEquals(List.of(), calls);
+    }
+
+    @Test
+    void resumeUnpausesAndStopsPausing() throws Exception {
+        IdlePauser<String> pauser = new IdlePauser<>(executor, key -> {});
+        pauser.register("oracle", control("oracle"));
+
+        pauser.acquire("oracle");
+        pauser.release("oracle");
+        awaitPaused(pauser, "oracle");
+
+        pauser.resume("oracle");
+        pauser.acquire("oracle");
+        pauser.release("oracle");
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(pauser.paused("oracle"));
+        assertEquals(List.of("pause oracle", "unpause oracle"), calls);
+    }
+
+    @Test
+    void notRegisteredContainerIsNeverPaused() {
+        IdlePauser<String> pauser = new IdlePauser<>(executor, key -> {});
+
+        pauser.acquire("redis");
+        pauser.release("redis");
+
+        assertFalse(pauser.paused("redis"));
+        assertEquals(List.of(), calls);
+    }
+
+    private IdlePauser.Control control(String name) {
+        return new IdlePauser.Control() {
+
+            @Override
+            public void pause() {
+                calls.add("pause " + name);
+            }
+
+            @Override
+            public void unpause() {
+                calls.add("unpause " + name);
+            }
+        };
+    }
+
+    private static void awaitPaused(IdlePauser<String> pauser, String key) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!pauser.paused(key) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(pauser.paused(key), "Expected container to be paused: " + key);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
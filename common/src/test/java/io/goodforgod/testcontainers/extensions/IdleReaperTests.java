@@ -0,0 +1,40 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class IdleReaperTests {
+
+    @Test
+    void finishedWhenLastExpectedClassFinishes() {
+        IdleReaper<String> reaper = new IdleReaper<>();
+        reaper.expect("postgres");
+        reaper.expect("postgres");
+        reaper.expect("redis");
+
+        assertFalse(reaper.finished("postgres"));
+        assertEquals(1, reaper.remaining("postgres"));
+        assertTrue(reaper.finished("redis"));
+        assertTrue(reaper.finished("postgres"));
+        assertEquals(0, reaper.remaining("postgres"));
+    }
+
+    @Test
+    void notExpectedKeyIsNeverFinished() {
+        IdleReaper<String> reaper = new IdleReaper<>();
+
+        assertFalse(reaper.finished("oracle"));
+        assertEquals(0, reaper.remaining("oracle"));
+    }
+
+    @Test
+    void finishedOnlyOnceWhenClassFinishesMoreThanExpected() {
+        IdleReaper<String> reaper = new IdleReaper<>();
+        reaper.expect("cassandra");
+
+        assertTrue(reaper.finished("cassandra"));
+        assertFalse(reaper.finished("cassandra"));
+        assertEquals(0, reaper.remaining("cassandra"));
+    }
+}
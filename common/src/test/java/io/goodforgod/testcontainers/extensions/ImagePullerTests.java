@@ -0,0 +1,77 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class ImagePullerTests {
+
+    @Test
+    void pullsWithBoundedParallelism() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger pulled = new AtomicInteger();
+        Map<String, Supplier<?>> pulls = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            pulls.put("bounded-image:" + i, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                running.decrementAndGet();
+                return pulled.incrementAndGet();
+            });
+        }
+
+        ImagePuller.pull(pulls, 3).get(10, TimeUnit.SECONDS);
+        assertEquals(8, pulled.get());
+        assertTrue(maxRunning.get() <= 3, "max running pulls: " + maxRunning.get());
+        assertTrue(maxRunning.get() > 1, "max running pulls: " + maxRunning.get());
+    }
+
+    @Test
+    void failedPullDoesNotFailOthers() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        Map<String, Supplier<?>> pulls = new LinkedHashMap<>();
+        pulls.put("failed-image:1", () -> {
+            throw new IllegalStateException("Pull access denied");
+        });
+        pulls.put("failed-image:2", pulled::incrementAndGet);
+
+        ImagePuller.pull(pulls, 2).get(10, TimeUnit.SECONDS);
+        assertEquals(1, pulled.get());
+        ImagePuller.await("failed-image:1");
+    }
+
+    @Test
+    void awaitWaitsForPullInProgress() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger pulled = new AtomicInteger();
+        ImagePuller.pull(Map.of("awaited-image:1", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return pulled.incrementAndGet();
+        }), 1);
+
+        CompletableFuture<Void> awaited = CompletableFuture.runAsync(() -> ImagePuller.await("awaited-image:1"));
+        Thread.sleep(50);
+        assertFalse(awaited.isDone());
+
+        release.countDown();
+        awaited.get(10, TimeUnit.SECONDS);
+        assertEquals(1, pulled.get());
+        ImagePuller.await("unknown-image:1");
+    }
+}
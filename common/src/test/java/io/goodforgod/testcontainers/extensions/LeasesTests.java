@@ -0,0 +1,53 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LeasesTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void onlyFirstAndLastLeaseAreExclusive() {
+        Leases leases = new Leases();
+
+        assertTrue(leases.acquire());
+        leases.unlock();
+        assertFalse(leases.acquire());
+        assertEquals(2, leases.leased());
+
+        assertFalse(leases.release());
+        assertTrue(leases.release());
+        leases.unlock();
+        assertEquals(0, leases.leased());
+    }
+
+    @Test
+    void acquireWaitsForExclusiveUnlock() throws Exception {
+        Leases leases = new Leases();
+        assertTrue(leases.acquire());
+
+        CompletableFuture<Boolean> concurrent = CompletableFuture.supplyAsync(leases::acquire, executor);
+        Thread.sleep(200);
+        assertFalse(concurrent.isDone(), "Expected lease to wait while first lease hooks run");
+
+        leases.unlock();
+        assertFalse(concurrent.join());
+        assertEquals(2, leases.leased());
+    }
+
+    @Test
+    void releaseWithoutAcquireFails() {
+        assertThrows(IllegalStateException.class, () -> new Leases().release());
+    }
+}
@@ -0,0 +1,74 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class LifecycleTimingsTests {
+
+    private static final String TEST_CLASS = "io.example.RepositoryTests";
+
+    @Test
+    void criticalPathFollowsSlowestDependencyChain() {
+        var timings = new LifecycleTimings();
+        // Network depends on Isolation, Pool is independent
+        timings.dependencies(TEST_CLASS, Isolation.class, Set.of());
+        timings.dependencies(TEST_CLASS, Network.class, Set.of(Isolation.class));
+        timings.dependencies(TEST_CLASS, Pool.class, Set.of());
+        timings.record(LifecycleTimings.Phase.START, Isolation.class, TEST_CLASS, millis(100));
+        timings.record(LifecycleTimings.Phase.START, Network.class, TEST_CLASS, millis(50));
+        timings.record(LifecycleTimings.Phase.START, Pool.class, TEST_CLASS, millis(120));
+        timings.record(LifecycleTimings.Phase.AFTER_START, Network.class, TEST_CLASS, millis(30));
+        timings.record(LifecycleTimings.Phase.AFTER_START, Pool.class, TEST_CLASS, millis(200));
+
+        List<LifecycleTimings.Step> path = timings.criticalPath(TEST_CLASS);
+
+        assertEquals(List.of(
+                new LifecycleTimings.Step(LifecycleTimings.Phase.START, Isolation.class, millis(100)),
+                new LifecycleTimings.Step(LifecycleTimings.Phase.START, Network.class, millis(50)),
+                new LifecycleTimings.Step(LifecycleTimings.Phase.AFTER_START, Pool.class, millis(200))), path);
+    }
+
+    @Test
+    void criticalPathUsesLongestSingleStart() {
+        var timings = new LifecycleTimings();
+        // Isolation container is started for each test method, Pool container once per class
+        timings.dependencies(TEST_CLASS, Isolation.class, Set.of());
+        timings.dependencies(TEST_CLASS, Pool.class, Set.of());
+        timings.record(LifecycleTimings.Phase.START, Isolation.class, TEST_CLASS, millis(60));
+        timings.record(LifecycleTimings.Phase.START, Isolation.class, TEST_CLASS, millis(80));
+        timings.record(LifecycleTimings.Phase.START, Isolation.class, TEST_CLASS, millis(70));
+        timings.record(LifecycleTimings.Phase.START, Pool.class, TEST_CLASS, millis(100));
+        timings.record(LifecycleTimings.Phase.AFTER_START, Isolation.class, TEST_CLASS, millis(10));
+        timings.record(LifecycleTimings.Phase.AFTER_START, Isolation.class, TEST_CLASS, millis(10));
+
+        List<LifecycleTimings.Step> path = timings.criticalPath(TEST_CLASS);
+
+        assertEquals(List.of(
+                new LifecycleTimings.Step(LifecycleTimings.Phase.START, Pool.class, millis(100)),
+                new LifecycleTimings.Step(LifecycleTimings.Phase.AFTER_START, Isolation.class, millis(10))), path);
+        assertTrue(timings.toJson().contains("\"testClass\": \"" + TEST_CLASS + "\", \"setupMs\": 110"));
+    }
+
+    @Test
+    void reportContainsTotalsAndTestClasses() {
+        var timings = new LifecycleTimings();
+        timings.dependencies(TEST_CLASS, Isolation.class, Set.of());
+        timings.record(LifecycleTimings.Phase.START, Isolation.class, TEST_CLASS, millis(100));
+        timings.record(LifecycleTimings.Phase.BEFORE_EACH, Isolation.class, TEST_CLASS, millis(5));
+        timings.record(LifecycleTimings.Phase.BEFORE_EACH, Isolation.class, TEST_CLASS, millis(7));
+
+        String json = timings.toJson();
+        assertTrue(json.contains(
+                "{\"phase\": \"BEFORE_EACH\", \"provider\": \"Isolation\", \"count\": 2, \"totalMs\": 12, \"maxMs\": 7}"), json);
+        assertTrue(json.contains("\"testClass\": \"" + TEST_CLASS + "\", \"setupMs\": 100"), json);
+        assertTrue(timings.summary().contains(TEST_CLASS));
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+}
@@ -0,0 +1,19 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MigrationHashTests {
+
+    @Test
+    void hashWithoutMigrationsDependsOnConfiguration() {
+        String hash = MigrationHash.hash("@TestcontainersRedis(image=redis:7.4-alpine)", null);
+
+        assertEquals(hash, MigrationHash.hash("@TestcontainersRedis(image=redis:7.4-alpine)", null));
+        assertNotEquals(hash, MigrationHash.hash("@TestcontainersRedis(image=redis:7.2-alpine)", null));
+        assertNotEquals(hash, MigrationHash.hash("@TestcontainersRedis(image=redis:7.4-alpine)",
+                new MigrationSnapshot("SCRIPTS", List.of("filesystem:missing"))));
+    }
+}
@@ -0,0 +1,92 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class NamespaceReclaimerTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void namespacesAreDroppedInBatchesAndFlushed() throws InterruptedException {
+        var reclaimer = new NamespaceReclaimer(executor);
+        var dropAllowed = new CountDownLatch(1);
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        Object container = new Object();
+
+        for (int i = 0; i < 60; i++) {
+            reclaimer.reclaim(container, "ns_" + i, batch -> {
+                try {
+                    dropAllowed.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                batches.add(batch);
+            });
+        }
+
+        dropAllowed.countDown();
+        reclaimer.flush(container);
+
+        assertEquals(60, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.size() < 60, "Expected namespaces to be dropped in batches");
+        assertEquals("ns_0", batches.get(0).get(0));
+    }
+
+    @Test
+    void failedDropDoesNotStopReclaimer() {
+        var reclaimer = new NamespaceReclaimer(executor);
+        List<String> dropped = new CopyOnWriteArrayList<>();
+        Object container = new Object();
+
+        reclaimer.reclaim(container, "failed", batch -> {
+            if (batch.contains("failed")) {
+                throw new IllegalStateException("Drop failed");
+            }
+        });
+        reclaimer.flush(container);
+        reclaimer.reclaim(container, "next", dropped::addAll);
+        reclaimer.flushAll();
+
+        assertEquals(List.of("next"), dropped);
+    }
+
+    @Test
+    void discardedNamespacesAreNotDropped() throws InterruptedException {
+        var reclaimer = new NamespaceReclaimer(executor);
+        var dropAllowed = new CountDownLatch(1);
+        List<String> dropped = new CopyOnWriteArrayList<>();
+        Object container = new Object();
+
+        for (int i = 0; i < 60; i++) {
+            reclaimer.reclaim(container, "ns_" + i, batch -> {
+                try {
+                    dropAllowed.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                dropped.addAll(batch);
+            });
+        }
+
+        var discarded = CompletableFuture.runAsync(() -> reclaimer.discard(container), executor);
+        Thread.sleep(200);
+        dropAllowed.countDown();
+        discarded.join();
+        assertTrue(dropped.size() < 60, "Expected namespaces queued after discard to be forgotten");
+    }
+}
@@ -0,0 +1,36 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.minio.ConnectionMinio;
+import io.goodforgod.testcontainers.extensions.orchestrator.minio.TestcontainersMinio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+@ExtendWith(OrchestratorBackgroundStopTests.NextClassStart.class)
+@TestcontainersMinio(mode = ContainerMode.PER_CLASS, image = "minio:slow-stop")
+class OrchestratorBackgroundStopTests {
+
+    /**
+     * Runs after orchestrator finished test class, which is when next test class starts
+     */
+    static final class NextClassStart implements AfterAllCallback {
+
+        @Override
+        public void afterAll(ExtensionContext context) {
+            assertNull(StartTimeline.event("stop:minio"), "Next test class waited for slow container stop");
+        }
+    }
+
+    @ConnectionMinio
+    private FakeConnection minio;
+
+    @Test
+    void containerStarted() {
+        assertEquals("minio:slow-stop", minio.image());
+    }
+}
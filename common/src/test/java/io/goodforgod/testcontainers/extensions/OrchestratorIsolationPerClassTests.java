@@ -0,0 +1,38 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestcontainersRedis(mode = ContainerMode.PER_RUN, isolation = @Isolation(Isolation.Mode.PER_CLASS))
+class OrchestratorIsolationPerClassTests {
+
+    private String namespaceBeforeAll;
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @BeforeAll
+    void setupAll(@ConnectionRedis FakeConnection redisParam) {
+        assertTrue(redisParam.namespace().startsWith("redis_"));
+        this.namespaceBeforeAll = redisParam.namespace();
+    }
+
+    @Test
+    void injectsClassIsolatedConnection(@ConnectionRedis FakeConnection redisParam) {
+        assertSame(redis, redisParam);
+        assertEquals(namespaceBeforeAll, redis.namespace());
+    }
+
+    @Test
+    void sameNamespaceIsSharedByClassMethods(@ConnectionRedis FakeConnection redisParam) {
+        assertSame(redis, redisParam);
+        assertEquals(namespaceBeforeAll, redis.namespace());
+    }
+}
@@ -0,0 +1,45 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@TestcontainersRedis(mode = ContainerMode.PER_RUN,
+        image = "redis:prefetch-shared",
+        isolation = @Isolation(value = Isolation.Mode.PER_METHOD, prefetch = 2))
+class OrchestratorIsolationPrefetchSharedTests {
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Test
+    void prefetchesNamespacesOfOwnSettings() throws InterruptedException {
+        assertTrue(redis.namespace().startsWith("redis_"));
+
+        // next namespaces are prepared in background while test runs
+        Thread.sleep(500);
+        assertNotNull(StartTimeline.event("prepare:redis"));
+    }
+
+    @Nested
+    @TestcontainersRedis(mode = ContainerMode.PER_RUN,
+            image = "redis:prefetch-shared",
+            prefix = "other",
+            isolation = @Isolation(value = Isolation.Mode.PER_METHOD, prefetch = 2))
+    class OtherSettings {
+
+        @ConnectionRedis
+        private FakeConnection other;
+
+        @Test
+        void sharedContainerNamespacesPrefetchedForOtherSettingsAreNotTaken() {
+            assertEquals("redis:prefetch-shared", other.image());
+            assertTrue(other.namespace().startsWith("other_"), "Expected own namespace, but was: " + other.namespace());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestcontainersRedis(mode = ContainerMode.PER_CLASS,
+        image = "redis:prefetch",
+        isolation = @Isolation(value = Isolation.Mode.PER_METHOD, prefetch = 2))
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrchestratorIsolationPrefetchTests {
+
+    private static final Set<String> NAMESPACES = ConcurrentHashMap.newKeySet();
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Order(1)
+    @Test
+    void firstMethodReceivesIsolatedConnection() throws InterruptedException {
+        assertTrue(redis.namespace().startsWith("redis_"));
+        assertTrue(NAMESPACES.add(redis.namespace()));
+
+        // next namespaces are prepared in background while test runs
+        Thread.sleep(500);
+        assertNotNull(StartTimeline.event("prepare:redis"));
+    }
+
+    @Order(2)
+    @Test
+    void nextMethodReceivesPrefetchedConnection() {
+        assertEquals("redis:prefetch", redis.image());
+        assertTrue(redis.namespace().startsWith("redis_"));
+        assertTrue(NAMESPACES.add(redis.namespace()));
+    }
+}
@@ -0,0 +1,41 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.RedisTestcontainersProvider;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+@ExtendWith(OrchestratorLookaheadFallbackTests.FailAhead.class)
+@TestcontainersRedis(mode = ContainerMode.PER_CLASS, image = "redis:lookahead-failed")
+class OrchestratorLookaheadFallbackTests {
+
+    static final class FailAhead implements BeforeAllCallback {
+
+        private static volatile long failedAt;
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            RedisTestcontainersProvider.failOnce("redis:lookahead-failed");
+            TestcontainersOrchestratorExtension.lookahead(context.getRequiredTestClass()).join();
+            failedAt = System.nanoTime();
+        }
+    }
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Test
+    void beforeAllStartsContainerWhenStartAheadFailed() {
+        var started = StartTimeline.event("redis");
+        assertNotNull(started);
+        assertTrue(started.start() >= FailAhead.failedAt, "Expected container to be started by beforeAll");
+        assertEquals("redis:lookahead-failed", redis.image());
+    }
+}
@@ -0,0 +1,41 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import java.util.List;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+class OrchestratorLookaheadPerClassTests {
+
+    @Disabled("Selected through direct lookahead test")
+    @TestcontainersRedis(mode = ContainerMode.PER_CLASS, image = "redis:lookahead")
+    static class Ahead {}
+
+    @Disabled("Selected through direct lookahead test")
+    @TestcontainersRedis(mode = ContainerMode.PER_CLASS, image = "redis:lookahead-pooled", pool = @Pool(1))
+    static class AheadPooled {}
+
+    @Test
+    void startsPerClassContainerAheadOnce() {
+        long before = System.nanoTime();
+        TestcontainersOrchestratorExtension.lookahead(Ahead.class).join();
+        var started = StartTimeline.event("redis");
+        assertNotNull(started);
+        assertTrue(started.start() >= before, "Expected Redis to be started ahead");
+
+        TestcontainersOrchestratorExtension.lookahead(Ahead.class).join();
+        assertSame(started, StartTimeline.event("redis"), "Expected Redis to be started ahead once");
+        TestcontainersOrchestratorExtension.discardLookahead(List.of(Ahead.class));
+    }
+
+    @Test
+    void skipsLookaheadForPooledContainer() {
+        long before = System.nanoTime();
+        TestcontainersOrchestratorExtension.lookahead(AheadPooled.class).join();
+        var event = StartTimeline.event("redis");
+        assertTrue(event == null || event.start() < before, "Expected pooled container to be started by pool");
+    }
+}
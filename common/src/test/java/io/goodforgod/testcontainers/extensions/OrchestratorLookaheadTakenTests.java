@@ -0,0 +1,38 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+@ExtendWith(OrchestratorLookaheadTakenTests.StartAhead.class)
+@TestcontainersRedis(mode = ContainerMode.PER_CLASS, image = "redis:lookahead-taken")
+class OrchestratorLookaheadTakenTests {
+
+    static final class StartAhead implements BeforeAllCallback {
+
+        private static volatile StartTimeline.Event started;
+
+        @Override
+        public void beforeAll(ExtensionContext context) {
+            TestcontainersOrchestratorExtension.lookahead(context.getRequiredTestClass()).join();
+            started = StartTimeline.event("redis");
+        }
+    }
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Test
+    void beforeAllTakesContainerStartedAhead() {
+        assertNotNull(StartAhead.started);
+        assertSame(StartAhead.started, StartTimeline.event("redis"), "Expected container started ahead to be taken");
+        assertEquals("redis:lookahead-taken", redis.image());
+    }
+}
@@ -0,0 +1,33 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestcontainersRedis(mode = ContainerMode.PER_METHOD, image = "redis:pool", pool = @Pool(1))
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrchestratorPoolPerMethodTests {
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Order(1)
+    @Test
+    void firstMethodReceivesStartedContainer(@ConnectionRedis FakeConnection redisParam) {
+        assertEquals("redis:pool", redis.image());
+        assertEquals(redis, redisParam);
+    }
+
+    @Order(2)
+    @Test
+    void nextMethodReceivesStartedContainerFromPool(@ConnectionRedis FakeConnection redisParam) {
+        assertEquals("redis:pool", redis.image());
+        assertEquals(redis, redisParam);
+    }
+}
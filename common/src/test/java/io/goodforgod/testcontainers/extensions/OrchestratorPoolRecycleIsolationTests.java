@@ -0,0 +1,40 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.RedisTestcontainersProvider;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestcontainersRedis(mode = ContainerMode.PER_METHOD,
+        image = "redis:recycle-isolated",
+        pool = @Pool(recycle = true),
+        isolation = @Isolation(Isolation.Mode.PER_METHOD))
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrchestratorPoolRecycleIsolationTests {
+
+    private static String firstNamespace;
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Order(1)
+    @Test
+    void firstMethodReceivesOwnNamespace() {
+        assertTrue(redis.namespace().startsWith("redis_"));
+        firstNamespace = redis.namespace();
+    }
+
+    @Order(2)
+    @Test
+    void namespaceIsDroppedBeforeContainerIsRecycled() {
+        assertNotNull(firstNamespace);
+        assertNotEquals(firstNamespace, redis.namespace());
+        assertTrue(RedisTestcontainersProvider.dropped(firstNamespace), "Expected namespace of recycled container to be dropped");
+    }
+}
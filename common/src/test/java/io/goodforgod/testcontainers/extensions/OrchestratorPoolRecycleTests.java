@@ -0,0 +1,38 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestcontainersRedis(mode = ContainerMode.PER_METHOD, image = "redis:recycle", pool = @Pool(recycle = true))
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OrchestratorPoolRecycleTests {
+
+    private static StartTimeline.Event started;
+
+    @ConnectionRedis
+    private FakeConnection redis;
+
+    @Order(1)
+    @Test
+    void firstMethodReceivesStartedContainer() {
+        assertEquals("redis:recycle", redis.image());
+        started = StartTimeline.event("redis");
+        assertNotNull(started);
+    }
+
+    @Order(2)
+    @Test
+    void nextMethodReceivesResetContainer() {
+        assertEquals("redis:recycle", redis.image());
+        assertSame(started, StartTimeline.event("redis"), "Expected container to be reset instead of restarted");
+        assertNotNull(StartTimeline.event("reset:redis"));
+    }
+}
@@ -0,0 +1,46 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ContainerRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import java.util.List;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+class OrchestratorPrestartPerRunTests {
+
+    @Disabled("Selected through direct prestart test")
+    @TestcontainersRedis(mode = ContainerMode.PER_RUN, image = "redis:prestart")
+    static class Prestarted {}
+
+    @Disabled("Selected through direct prestart test")
+    @TestcontainersRedis(mode = ContainerMode.PER_RUN, image = "redis:prestart-manual")
+    static class PrestartedManual {
+
+        @ContainerRedis
+        private static final GenericContainer<?> container = new GenericContainer<>("redis:prestart-manual");
+    }
+
+    @Test
+    void prestartsPerRunContainerOnce() {
+        long before = System.nanoTime();
+        TestcontainersOrchestratorExtension.prestartPerRun(List.of(Prestarted.class)).join();
+        var prestarted = StartTimeline.event("redis");
+        assertNotNull(prestarted);
+        assertTrue(prestarted.start() >= before, "Expected Redis to be started by prestart");
+
+        TestcontainersOrchestratorExtension.prestartPerRun(List.of(Prestarted.class)).join();
+        assertSame(prestarted, StartTimeline.event("redis"), "Expected prestarted Redis to be shared");
+    }
+
+    @Test
+    void skipsPrestartForManualContainer() {
+        long before = System.nanoTime();
+        TestcontainersOrchestratorExtension.prestartPerRun(List.of(PrestartedManual.class)).join();
+        var event = StartTimeline.event("redis");
+        assertTrue(event == null || event.start() < before, "Expected manual container to start lazily");
+    }
+}
@@ -0,0 +1,125 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Drives orchestrator callbacks through synthetic test invocations, same way as large
+ * parameterized test matrix does, and checks that per invocation state is not retained
+ */
+class OrchestratorStateSoakTests {
+
+    private static final int WARMUP = 10_000;
+    private static final int INVOCATIONS = 100_000;
+    private static final long MAX_HEAP_GROWTH = 8 * 1024 * 1024;
+
+    static class SyntheticTests {
+
+        void invocation() {}
+    }
+
+    @Test
+    void heapStaysFlatForHundredThousandInvocations() throws Exception {
+        var extension = new TestcontainersOrchestratorExtension();
+        var engine = context(null, "[engine:junit-jupiter]", null);
+        var testClass = context(engine, "[engine:junit-jupiter]/[class:SyntheticTests]", null);
+        Method method = SyntheticTests.class.getDeclaredMethod("invocation");
+
+        extension.beforeAll(testClass);
+        invoke(extension, testClass, method, 0, WARMUP);
+        long before = usedHeap();
+
+        invoke(extension, testClass, method, WARMUP, INVOCATIONS);
+        long after = usedHeap();
+        extension.afterAll(testClass);
+
+        assertTrue(after - before < MAX_HEAP_GROWTH,
+                "Expected flat heap, but grew by %s bytes after %s invocations".formatted(after - before, INVOCATIONS));
+    }
+
+    private static void invoke(TestcontainersOrchestratorExtension extension,
+                               ExtensionContext testClass,
+                               Method method,
+                               int from,
+                               int to) {
+        for (int i = from; i < to; i++) {
+            var invocation = context(testClass, testClass.getUniqueId() + "/[test-template-invocation:#" + i + "]", method);
+            extension.beforeEach(invocation);
+            extension.afterEach(invocation);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static ExtensionContext context(ExtensionContext parent, String uniqueId, Method method) {
+        ExtensionContext.Store store = store();
+        Object instance = (method == null)
+                ? null
+                : new SyntheticTests();
+        InvocationHandler handler = (proxy, invoked, args) -> switch (invoked.getName()) {
+            case "getParent" -> Optional.ofNullable(parent);
+            case "getRoot" -> (parent == null)
+                    ? proxy
+                    : parent.getRoot();
+            case "getUniqueId", "getDisplayName" -> uniqueId;
+            case "getTestClass" -> (parent == null)
+                    ? Optional.empty()
+                    : Optional.of(SyntheticTests.class);
+            case "getTestMethod" -> Optional.ofNullable(method);
+            case "getTestInstance" -> Optional.ofNullable(instance);
+            case "getTestInstanceLifecycle" -> Optional.of(TestInstance.Lifecycle.PER_METHOD);
+            case "getStore" -> store;
+            case "toString" -> uniqueId;
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> defaultOrEmpty(proxy, invoked, args);
+        };
+
+        return (ExtensionContext) Proxy.newProxyInstance(ExtensionContext.class.getClassLoader(),
+                new Class<?>[] { ExtensionContext.class }, handler);
+    }
+
+    private static ExtensionContext.Store store() {
+        Map<Object, Object> values = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, invoked, args) -> switch (invoked.getName()) {
+            case "get" -> values.get(args[0]);
+            case "put" -> values.put(args[0], args[1]);
+            case "remove" -> values.remove(args[0]);
+            case "getOrComputeIfAbsent", "computeIfAbsent" -> (args.length == 1)
+                    ? InvocationHandler.invokeDefault(proxy, invoked, args)
+                    : values.computeIfAbsent(args[0], key -> ((Function<Object, Object>) args[1]).apply(key));
+            default -> defaultOrEmpty(proxy, invoked, args);
+        };
+
+        return (ExtensionContext.Store) Proxy.newProxyInstance(ExtensionContext.Store.class.getClassLoader(),
+                new Class<?>[] { ExtensionContext.Store.class }, handler);
+    }
+
+    private static Object defaultOrEmpty(Object proxy, Method invoked, Object[] args) throws Throwable {
+        if (invoked.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, invoked, args);
+        }
+
+        return (invoked.getReturnType() == Optional.class)
+                ? Optional.empty()
+                : null;
+    }
+}
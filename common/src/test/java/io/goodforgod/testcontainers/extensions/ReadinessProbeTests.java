@@ -0,0 +1,108 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+class ReadinessProbeTests {
+
+    private static WaitStrategyTarget target(AtomicBoolean running) {
+        return (WaitStrategyTarget) Proxy.newProxyInstance(ReadinessProbeTests.class.getClassLoader(),
+                new Class[] { WaitStrategyTarget.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "isRunning" -> running.get();
+                    case "getContainerId" -> "container";
+                    case "getHost" -> "localhost";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Test
+    void readyAfterHandshakeSucceeds() {
+        AtomicInteger attempts = new AtomicInteger();
+        ReadinessProbe probe = ReadinessProbe.of("test", target -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("Connection refused");
+            }
+            return attempts.get() == 4;
+        });
+
+        probe.waitUntilReady(target(new AtomicBoolean(true)));
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    void failsWhenContainerExited() {
+        ReadinessProbe probe = ReadinessProbe.of("test", target -> {
+            throw new IOException("Connection refused");
+        });
+
+        ContainerLaunchException e = assertThrows(ContainerLaunchException.class,
+                () -> probe.waitUntilReady(target(new AtomicBoolean(false))));
+        assertInstanceOf(IOException.class, e.getCause());
+    }
+
+    @Test
+    void failsAfterStartupTimeout() {
+        AtomicInteger attempts = new AtomicInteger();
+        ReadinessProbe probe = ReadinessProbe.of("test", target -> attempts.incrementAndGet() < 0);
+        probe.withStartupTimeout(Duration.ofMillis(200));
+
+        long started = System.nanoTime();
+        assertThrows(ContainerLaunchException.class, () -> probe.waitUntilReady(target(new AtomicBoolean(true))));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertTrue(attempts.get() > 3);
+    }
+
+    @Test
+    void delayGrowsUpToMax() {
+        Duration delay = ReadinessProbe.MIN_DELAY;
+        assertEquals(Duration.ofMillis(15), ReadinessProbe.nextDelay(delay));
+        for (int i = 0; i < 20; i++) {
+            delay = ReadinessProbe.nextDelay(delay);
+        }
+        assertEquals(ReadinessProbe.MAX_DELAY, delay);
+    }
+
+    @Test
+    void handshakeReadsExpectedReply() throws Exception {
+        try (ServerSocket server = new ServerSocket(0)) {
+            CompletableFuture<String> request = CompletableFuture.supplyAsync(() -> {
+                try (Socket socket = server.accept()) {
+                    InputStream input = socket.getInputStream();
+                    byte[] buffer = new byte[64];
+                    int read = input.read(buffer);
+                    socket.getOutputStream().write("+OK\r\n+PONG\r\n".getBytes(StandardCharsets.UTF_8));
+                    return new String(buffer, 0, read, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            assertTrue(ReadinessProbe.handshake("localhost", server.getLocalPort(), "AUTH redis\r\nPING\r\n", "+PONG"));
+            assertEquals("AUTH redis\r\nPING\r\n", request.get());
+        }
+    }
+
+    @Test
+    void handshakeFailsWhenConnectionRefused() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+
+        assertThrows(IOException.class, () -> ReadinessProbe.handshake("localhost", port, "PING\r\n", "PONG"));
+    }
+}
@@ -0,0 +1,52 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class ReplicaAssignerTests {
+
+    @Test
+    void leastLoadUsesFirstReplicaWhenClassesRunSequentially() {
+        ReplicaAssigner assigner = new ReplicaAssigner(3, Pool.Assignment.LEAST_LOAD);
+
+        int first = assigner.acquire();
+        assertEquals(0, first);
+        assigner.release(first);
+        assertEquals(0, assigner.acquire());
+    }
+
+    @Test
+    void leastLoadSpreadsParallelClasses() {
+        ReplicaAssigner assigner = new ReplicaAssigner(3, Pool.Assignment.LEAST_LOAD);
+
+        assertEquals(0, assigner.acquire());
+        assertEquals(1, assigner.acquire());
+        assertEquals(2, assigner.acquire());
+        assertEquals(0, assigner.acquire());
+        assertEquals(2, assigner.load(0));
+
+        assigner.release(1);
+        assertEquals(0, assigner.load(1));
+        assertEquals(1, assigner.acquire());
+    }
+
+    @Test
+    void roundRobinUsesReplicasInTurn() {
+        ReplicaAssigner assigner = new ReplicaAssigner(2, Pool.Assignment.ROUND_ROBIN);
+
+        int first = assigner.acquire();
+        assigner.release(first);
+        int second = assigner.acquire();
+        assigner.release(second);
+
+        assertEquals(0, first);
+        assertEquals(1, second);
+        assertEquals(0, assigner.acquire());
+    }
+
+    @Test
+    void replicasLessThanOneFail() {
+        assertThrows(IllegalArgumentException.class, () -> new ReplicaAssigner(0, Pool.Assignment.LEAST_LOAD));
+    }
+}
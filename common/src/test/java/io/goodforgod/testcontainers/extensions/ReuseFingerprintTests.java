@@ -0,0 +1,88 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReuseFingerprintTests {
+
+    static final class CountingContext implements ContainerContext<Object> {
+
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger stopped = new AtomicInteger();
+
+        @Override
+        public Object connection() {
+            return null;
+        }
+
+        @Override
+        public void start() {
+            started.incrementAndGet();
+        }
+
+        @Override
+        public void stop() {
+            stopped.incrementAndGet();
+        }
+    }
+
+    @Test
+    void matchedContainerIsUsedAsIs() {
+        var context = new CountingContext();
+        var resets = new AtomicInteger();
+
+        TestcontainersOrchestratorExtension.verifyReused(context, "fingerprint", "fingerprint", true,
+                () -> resets.incrementAndGet() > 0);
+        assertEquals(0, resets.get());
+        assertEquals(0, context.stopped.get());
+        assertEquals(0, context.started.get());
+    }
+
+    @Test
+    void createdContainerIsUsedAsIs() {
+        var context = new CountingContext();
+        var resets = new AtomicInteger();
+
+        TestcontainersOrchestratorExtension.verifyReused(context, "fingerprint", null, false,
+                () -> resets.incrementAndGet() > 0);
+        assertEquals(0, resets.get());
+        assertEquals(0, context.stopped.get());
+    }
+
+    @Test
+    void outdatedContainerIsReset() {
+        var context = new CountingContext();
+        var resets = new AtomicInteger();
+
+        TestcontainersOrchestratorExtension.verifyReused(context, "fingerprint", "outdated", true,
+                () -> resets.incrementAndGet() > 0);
+        assertEquals(1, resets.get());
+        assertEquals(0, context.stopped.get());
+        assertEquals(0, context.started.get());
+    }
+
+    @Test
+    void outdatedContainerIsRestartedWhenResetIsNotSupported() {
+        var context = new CountingContext();
+        var resets = new AtomicInteger();
+
+        TestcontainersOrchestratorExtension.verifyReused(context, "fingerprint", "outdated", true,
+                () -> resets.incrementAndGet() < 0);
+        assertEquals(1, resets.get());
+        assertEquals(1, context.stopped.get());
+        assertEquals(1, context.started.get());
+    }
+
+    @Test
+    void reattachedContainerWithoutFingerprintIsReset() {
+        var context = new CountingContext();
+        var resets = new AtomicInteger();
+
+        TestcontainersOrchestratorExtension.verifyReused(context, "fingerprint", null, true,
+                () -> resets.incrementAndGet() > 0);
+        assertEquals(1, resets.get());
+        assertEquals(0, context.stopped.get());
+    }
+}
@@ -0,0 +1,103 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SharedRegistryTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareSingleCreation() {
+        AtomicInteger created = new AtomicInteger();
+        var registry = new SharedRegistry<String, Integer>();
+
+        var first = CompletableFuture.supplyAsync(() -> registry.computeIfAbsent("redis", () -> {
+            sleep(300);
+            return created.incrementAndGet();
+        }), executor);
+        sleep(50);
+        var second = CompletableFuture.supplyAsync(() -> registry.computeIfAbsent("redis", created::incrementAndGet), executor);
+
+        assertEquals(1, first.join());
+        assertEquals(1, second.join());
+        assertEquals(List.of(1), registry.drain());
+    }
+
+    @Test
+    void creationForOtherKeyIsNotBlocked() {
+        var registry = new SharedRegistry<String, String>();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var slow = CompletableFuture.supplyAsync(() -> registry.computeIfAbsent("slow", () -> {
+            started.countDown();
+            await(release);
+            return "slow";
+        }), executor);
+        await(started);
+
+        assertEquals("fast", registry.computeIfAbsent("fast", () -> "fast"));
+        release.countDown();
+        assertEquals("slow", slow.join());
+    }
+
+    @Test
+    void waiterReceivesFailureAndNextCallerRetries() {
+        var registry = new SharedRegistry<String, String>();
+        var failed = new IllegalStateException("Container failed to start");
+
+        var first = CompletableFuture.supplyAsync(() -> registry.computeIfAbsent("redis", () -> {
+            sleep(300);
+            throw failed;
+        }), executor);
+        sleep(50);
+        var second = CompletableFuture.supplyAsync(() -> registry.computeIfAbsent("redis", () -> "unexpected"), executor);
+
+        assertSame(failed, assertThrows(Exception.class, first::join).getCause());
+        assertSame(failed, assertThrows(Exception.class, second::join).getCause());
+        assertEquals("retried", registry.computeIfAbsent("redis", () -> "retried"));
+    }
+
+    @Test
+    void removeOnlyMatchingKeys() {
+        var registry = new SharedRegistry<String, String>();
+        registry.computeIfAbsent("redis-0", () -> "redis-0");
+        registry.computeIfAbsent("redis-1", () -> "redis-1");
+        registry.computeIfAbsent("kafka-0", () -> "kafka-0");
+
+        assertEquals(List.of("redis-0", "redis-1"), registry.remove(key -> key.startsWith("redis")).stream().sorted().toList());
+        assertEquals(List.of("kafka-0"), registry.drain());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotImageTests {
+
+    @TempDir
+    private Path migrations;
+
+    @Test
+    void hashChangesOnlyWhenMigrationsChange() throws IOException {
+        Files.writeString(migrations.resolve("V1__init.sql"), "CREATE TABLE users(id INT);");
+        var snapshot = new MigrationSnapshot("FLYWAY", List.of("filesystem:" + migrations));
+
+        String hash = SnapshotImage.hash("postgres:16-alpine", snapshot);
+        assertEquals(hash, SnapshotImage.hash("postgres:16-alpine", snapshot));
+        assertNotEquals(hash, SnapshotImage.hash("postgres:17-alpine", snapshot));
+        assertNotEquals(hash, SnapshotImage.hash("postgres:16-alpine", new MigrationSnapshot("LIQUIBASE", snapshot.locations())));
+
+        Files.writeString(migrations.resolve("V2__users.sql"), "ALTER TABLE users ADD COLUMN name TEXT;");
+        String added = SnapshotImage.hash("postgres:16-alpine", snapshot);
+        assertNotEquals(hash, added);
+
+        Files.writeString(migrations.resolve("V2__users.sql"), "ALTER TABLE users ADD COLUMN email TEXT;");
+        assertNotEquals(added, SnapshotImage.hash("postgres:16-alpine", snapshot));
+    }
+
+    @Test
+    void migrationsIdentityIgnoresContentOfMigrations() throws IOException {
+        Files.writeString(migrations.resolve("V1__init.sql"), "CREATE TABLE users(id INT);");
+        var snapshot = new MigrationSnapshot("FLYWAY", List.of("filesystem:" + migrations));
+
+        String identity = SnapshotImage.migrations(snapshot);
+        Files.writeString(migrations.resolve("V2__users.sql"), "ALTER TABLE users ADD COLUMN name TEXT;");
+        assertEquals(identity, SnapshotImage.migrations(snapshot));
+
+        assertNotEquals(identity, SnapshotImage.migrations(new MigrationSnapshot("LIQUIBASE", snapshot.locations())));
+        assertNotEquals(identity, SnapshotImage.migrations(new MigrationSnapshot("FLYWAY", List.of("classpath:db/other"))));
+        assertNotEquals(SnapshotImage.migrations(new MigrationSnapshot("FLYWAY", List.of("db/a", "b"))),
+                SnapshotImage.migrations(new MigrationSnapshot("FLYWAY", List.of("db/ab"))));
+    }
+}
@@ -0,0 +1,128 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TeardownPipelineTests {
+
+    static final class SlowStopContext implements ContainerContext<Object> {
+
+        private final CountDownLatch stopAllowed;
+        private final AtomicInteger stopped;
+
+        SlowStopContext(CountDownLatch stopAllowed, AtomicInteger stopped) {
+            this.stopAllowed = stopAllowed;
+            this.stopped = stopped;
+        }
+
+        @Override
+        public Object connection() {
+            return null;
+        }
+
+        @Override
+        public void start() {}
+
+        @Override
+        public void stop() {
+            try {
+                stopAllowed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+
+            stopped.incrementAndGet();
+        }
+    }
+
+    @Test
+    void containersAreStoppedInParallelWithoutBlockingCaller() {
+        var stopAllowed = new CountDownLatch(1);
+        var stopped = new AtomicInteger();
+
+        var first = TestcontainersOrchestratorExtension.stopInBackground(new SlowStopContext(stopAllowed, stopped),
+                ContainerMode.PER_CLASS);
+        var second = TestcontainersOrchestratorExtension.stopInBackground(new SlowStopContext(stopAllowed, stopped),
+                ContainerMode.PER_CLASS);
+        assertFalse(first.isDone());
+        assertFalse(second.isDone());
+
+        stopAllowed.countDown();
+        TestcontainersOrchestratorExtension.awaitStopped();
+        assertEquals(2, stopped.get());
+    }
+
+    @Test
+    void failedStopIsReportedByAwait() {
+        var failed = TestcontainersOrchestratorExtension.stopInBackground(new ContainerContext<>() {
+
+            @Override
+            public Object connection() {
+                return null;
+            }
+
+            @Override
+            public void start() {}
+
+            @Override
+            public void stop() {
+                throw new IllegalStateException("Stop failed");
+            }
+        }, ContainerMode.PER_RUN);
+
+        List<Throwable> failures = TestcontainersOrchestratorExtension.awaitStopped();
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(1, failures.size());
+        assertEquals("Stop failed", failures.get(0).getMessage());
+        assertTrue(TestcontainersOrchestratorExtension.awaitStopped().isEmpty());
+    }
+
+    @Test
+    void classContainersAreStoppedBeforeAwaitReturns() {
+        var stopAllowed = new CountDownLatch(1);
+        var stopped = new AtomicInteger();
+        var contexts = List.<ContainerContext<?>>of(new SlowStopContext(stopAllowed, stopped),
+                new SlowStopContext(stopAllowed, stopped));
+
+        var awaited = CompletableFuture.runAsync(() -> TestcontainersOrchestratorExtension.stopAndAwait(contexts,
+                ContainerMode.PER_CLASS));
+        assertFalse(awaited.isDone());
+
+        stopAllowed.countDown();
+        awaited.join();
+        assertEquals(2, stopped.get());
+    }
+
+    @Test
+    void failedClassContainerStopFailsAwait() {
+        var stopAllowed = new CountDownLatch(0);
+        var stopped = new AtomicInteger();
+        ContainerContext<?> failing = new ContainerContext<>() {
+
+            @Override
+            public Object connection() {
+                return null;
+            }
+
+            @Override
+            public void start() {}
+
+            @Override
+            public void stop() {
+                throw new IllegalStateException("Stop failed");
+            }
+        };
+
+        var e = assertThrows(IllegalStateException.class, () -> TestcontainersOrchestratorExtension.stopAndAwait(
+                List.of(failing, new SlowStopContext(stopAllowed, stopped)), ContainerMode.PER_CLASS));
+        assertEquals("Stop failed", e.getMessage());
+        assertEquals(1, stopped.get());
+    }
+}
@@ -0,0 +1,68 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.goodforgod.testcontainers.extensions.orchestrator.FakeConnection;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ConnectionRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.ContainerRedis;
+import io.goodforgod.testcontainers.extensions.orchestrator.redis.TestcontainersRedis;
+import java.lang.reflect.Field;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+
+class TestClassMetadataTests {
+
+    @TestcontainersRedis(mode = ContainerMode.PER_CLASS, image = "redis:metadata")
+    abstract static class Parent {
+
+        @ContainerRedis
+        private static final GenericContainer<?> container = null;
+
+        @ConnectionRedis
+        FakeConnection parentConnection;
+    }
+
+    static class Child extends Parent {
+
+        @ContainerNetwork
+        Network network;
+
+        @ConnectionRedis
+        FakeConnection childConnection;
+    }
+
+    @Test
+    void metadataIsResolvedOncePerClass() {
+        assertSame(TestClassMetadata.of(Child.class), TestClassMetadata.of(Child.class));
+    }
+
+    @Test
+    void annotationIsFoundInSuperclass() {
+        var annotation = TestClassMetadata.of(Child.class).annotation(TestcontainersRedis.class);
+        assertTrue(annotation.isPresent());
+        assertEquals("redis:metadata", annotation.get().image());
+        assertTrue(TestClassMetadata.of(Child.class).annotation(Isolation.class).isEmpty());
+    }
+
+    @Test
+    void annotatedFieldsAreFoundInHierarchy() {
+        var metadata = TestClassMetadata.of(Child.class);
+
+        List<String> connections = metadata.instanceFields(ConnectionRedis.class).stream().map(Field::getName).toList();
+        assertEquals(List.of("parentConnection", "childConnection"), connections);
+        assertEquals(1, metadata.staticFields(ContainerRedis.class).size());
+        assertTrue(metadata.instanceFields(ContainerRedis.class).isEmpty());
+        assertEquals(1, metadata.fields(ContainerNetwork.class).size());
+    }
+
+    @Test
+    void fieldListsAreResolvedOnce() {
+        var metadata = TestClassMetadata.of(Child.class);
+
+        assertSame(metadata.instanceFields(ConnectionRedis.class), metadata.instanceFields(ConnectionRedis.class));
+        assertSame(metadata.staticFields(ContainerRedis.class), metadata.staticFields(ContainerRedis.class));
+        assertThrows(UnsupportedOperationException.class, () -> metadata.instanceFields(ConnectionRedis.class).clear());
+    }
+}
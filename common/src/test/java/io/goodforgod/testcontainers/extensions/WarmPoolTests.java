@@ -0,0 +1,94 @@
+package io.goodforgod.testcontainers.extensions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WarmPoolTests {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void firstTakeMissesAndNextTakeHitsWarmResource() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        var pool = new WarmPool<>("test", 1, created::incrementAndGet, ignored -> {}, executor);
+
+        Integer first = pool.take();
+        assertEquals(0, pool.hits());
+        assertEquals(1, pool.misses());
+
+        Thread.sleep(100);
+        Integer second = pool.take();
+        assertNotEquals(first, second);
+        assertEquals(1, pool.hits());
+        assertEquals(1, pool.misses());
+        pool.close();
+    }
+
+    @Test
+    void takeOfNullResourceIsNotCountedAsHit() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        var pool = new WarmPool<Integer>("test", 1, () -> {
+            created.incrementAndGet();
+            return null;
+        }, ignored -> {}, executor);
+
+        assertNull(pool.take());
+        Thread.sleep(100);
+        assertNull(pool.take());
+        assertEquals(0, pool.hits());
+        assertEquals(2, pool.misses());
+        pool.close();
+    }
+
+    @Test
+    void closeDisposesWarmAndReleasedResources() {
+        AtomicInteger created = new AtomicInteger();
+        Set<Integer> disposed = ConcurrentHashMap.newKeySet();
+        var pool = new WarmPool<>("test", 2, created::incrementAndGet, disposed::add, executor);
+
+        Integer taken = pool.take();
+        pool.release(taken);
+        pool.close();
+
+        assertEquals(3, created.get());
+        assertEquals(Set.of(1, 2, 3), disposed);
+    }
+
+    @Test
+    void recycledResourceIsTakenAgain() {
+        AtomicInteger created = new AtomicInteger();
+        var pool = new WarmPool<>("test", 0, created::incrementAndGet, ignored -> {}, executor);
+
+        Integer first = pool.take();
+        pool.recycle(first, ignored -> true);
+        assertEquals(first, pool.take());
+        assertEquals(1, created.get());
+        pool.close();
+    }
+
+    @Test
+    void resourceThatCantResetIsReplaced() {
+        AtomicInteger created = new AtomicInteger();
+        Set<Integer> disposed = ConcurrentHashMap.newKeySet();
+        var pool = new WarmPool<>("test", 0, created::incrementAndGet, disposed::add, executor);
+
+        Integer first = pool.take();
+        pool.recycle(first, ignored -> false);
+        Integer second = pool.take();
+        assertNotEquals(first, second);
+        assertEquals(Set.of(first), disposed);
+        pool.close();
+    }
+}
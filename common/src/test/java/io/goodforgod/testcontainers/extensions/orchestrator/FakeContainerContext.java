@@ -10,12 +10,18 @@ public final class FakeContainerContext implements ContainerContext<FakeConnecti
     private final String service;
     private final String image;
     private final GenericContainer<?> container;
+    private final long stopMillis;
     private volatile boolean running;
 
     public FakeContainerContext(String service, String image, GenericContainer<?> container) {
+        this(service, image, container, 0);
+    }
+
+    public FakeContainerContext(String service, String image, GenericContainer<?> container, long stopMillis) {
         this.service = service;
         this.image = image;
         this.container = container;
+        this.stopMillis = stopMillis;
     }
 
     @Override
@@ -49,6 +55,17 @@ public void start() {
     @Override
     public void stop() {
         running = false;
+        if (stopMillis > 0) {
+            long startedAt = System.nanoTime();
+            try {
+                Thread.sleep(stopMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+
+            StartTimeline.hooked(service, "stop", startedAt, System.nanoTime());
+        }
     }
 
     @Override
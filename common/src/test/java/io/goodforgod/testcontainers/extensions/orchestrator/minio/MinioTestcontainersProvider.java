@@ -67,7 +67,11 @@ public Set<Class<? extends Annotation>> dependencies(@NotNull TestcontainersMini
 
     @Override
     public @NotNull ContainerContext<FakeConnection> createContext(@NotNull GenericContainer<?> container) {
-        return new FakeContainerContext("minio", container.getDockerImageName(), container);
+        // slow stop lets tests check that next test class doesn't wait for container stop
+        long stopMillis = container.getDockerImageName().endsWith(":slow-stop")
+                ? 1500
+                : 0;
+        return new FakeContainerContext("minio", container.getDockerImageName(), container, stopMillis);
     }
 
     @Override
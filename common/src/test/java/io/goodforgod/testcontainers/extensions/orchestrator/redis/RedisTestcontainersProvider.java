@@ -6,11 +6,32 @@
 import io.goodforgod.testcontainers.extensions.orchestrator.FakeGenericContainer;
 import io.goodforgod.testcontainers.extensions.orchestrator.StartTimeline;
 import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.testcontainers.containers.GenericContainer;
 
 public final class RedisTestcontainersProvider implements TestcontainersProvider<TestcontainersRedis, FakeConnection> {
 
+    private static final Set<String> FAIL_ONCE = ConcurrentHashMap.newKeySet();
+    private static final Set<String> DROPPED = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param image next container of which fails to be created
+     */
+    public static void failOnce(String image) {
+        FAIL_ONCE.add(image);
+    }
+
+    /**
+     * @param namespace isolated namespace
+     * @return true if namespace was dropped
+     */
+    public static boolean dropped(String namespace) {
+        return DROPPED.contains(namespace);
+    }
+
     @Override
     public @NotNull Class<TestcontainersRedis> annotationType() {
         return TestcontainersRedis.class;
@@ -58,11 +79,15 @@ public Isolation.Mode isolation(@NotNull TestcontainersRedis annotation) {
 
     @Override
     public String isolationPrefix(@NotNull TestcontainersRedis annotation) {
-        return "redis";
+        return annotation.prefix();
     }
 
     @Override
     public @NotNull GenericContainer<?> createContainer(@NotNull TestcontainersRedis annotation) {
+        if (FAIL_ONCE.remove(annotation.image())) {
+            throw new IllegalStateException("Redis container failed to be created: " + annotation.image());
+        }
+
         return new FakeGenericContainer(annotation.image());
     }
 
@@ -85,6 +110,28 @@ public String isolationPrefix(@NotNull TestcontainersRedis annotation) {
                 namespace);
     }
 
+    @Override
+    public FakeConnection prepareIsolatedConnection(@NotNull TestcontainersRedis annotation,
+                                                    @NotNull ContainerContext<FakeConnection> context,
+                                                    @NotNull String namespace) {
+        hook("redis", "prepare");
+        FakeConnection base = context.connection();
+        return new FakeConnection(base.service(),
+                base.image(),
+                base.aliases(),
+                base.sharedNetwork(),
+                base.networkIdentity(),
+                namespace);
+    }
+
+    @Override
+    public void dropIsolatedNamespaces(@NotNull TestcontainersRedis annotation,
+                                       @NotNull ContainerContext<FakeConnection> context,
+                                       @NotNull List<String> namespaces) {
+        hook("redis", "drop");
+        DROPPED.addAll(namespaces);
+    }
+
     @Override
     public void beforeEach(@NotNull TestcontainersRedis annotation,
                            @NotNull ContainerContext<FakeConnection> context,
@@ -99,6 +146,12 @@ public void afterEach(@NotNull TestcontainersRedis annotation,
         hook("redis", "afterEach");
     }
 
+    @Override
+    public boolean reset(@NotNull TestcontainersRedis annotation, @NotNull ContainerContext<FakeConnection> context) {
+        hook("redis", "reset");
+        return true;
+    }
+
     private static void hook(String service, String hook) {
         long startedAt = System.nanoTime();
         try {
@@ -3,6 +3,7 @@
 import io.goodforgod.testcontainers.extensions.ContainerMode;
 import io.goodforgod.testcontainers.extensions.Isolation;
 import io.goodforgod.testcontainers.extensions.Network;
+import io.goodforgod.testcontainers.extensions.Pool;
 import io.goodforgod.testcontainers.extensions.TestcontainersOrchestratorExtension;
 import java.lang.annotation.*;
 import org.junit.jupiter.api.Order;
@@ -26,4 +27,11 @@
      *             behavior.
      */
     Isolation isolation() default @Isolation;
+
+    /**
+     * @return prefix of isolated namespaces
+     */
+    String prefix() default "redis";
+
+    Pool pool() default @Pool;
 }
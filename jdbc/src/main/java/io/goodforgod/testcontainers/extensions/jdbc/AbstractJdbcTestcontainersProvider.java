@@ -3,6 +3,7 @@
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
 import io.goodforgod.testcontainers.extensions.Isolation;
+import io.goodforgod.testcontainers.extensions.MigrationSnapshot;
 import io.goodforgod.testcontainers.extensions.Network;
 import io.goodforgod.testcontainers.extensions.TestcontainersProvider;
 import java.lang.annotation.Annotation;
@@ -60,6 +61,19 @@ public Isolation.Mode isolation(@NotNull A annotation) {
         return isolationAnnotation(annotation).value();
     }
 
+    @Override
+    public int isolationPrefetch(@NotNull A annotation) {
+        // template database is cloned when test takes connection, so there is nothing to prepare ahead
+        return cloneTemplate(annotation)
+                ? 0
+                : isolationAnnotation(annotation).prefetch();
+    }
+
+    @Override
+    public Isolation.Keep isolationKeep(@NotNull A annotation) {
+        return isolationAnnotation(annotation).keep();
+    }
+
     @Override
     public String isolationPrefix(@NotNull A annotation) {
         return metadata(annotation).image()
@@ -70,7 +84,36 @@ public String isolationPrefix(@NotNull A annotation) {
     @Override
     public @NotNull GenericContainer<?> createContainer(@NotNull A annotation) {
         validate(annotation);
-        return delegate().createContainerFromProvider(metadata(annotation));
+        T container = delegate().createContainerFromProvider(metadata(annotation));
+        if (migration(annotation).snapshot()) {
+            configureSnapshot(container);
+        }
+
+        return container;
+    }
+
+    @Override
+    public MigrationSnapshot snapshot(@NotNull A annotation) {
+        Migration migration = migration(annotation);
+        return (migration.snapshot() && migration.apply() == Migration.Mode.PER_CLASS)
+                ? migrations(annotation)
+                : null;
+    }
+
+    @Override
+    public MigrationSnapshot migrations(@NotNull A annotation) {
+        Migration migration = migration(annotation);
+        if (migration.apply() == Migration.Mode.NONE) {
+            return null;
+        }
+
+        List<String> locations = (migration.locations().length != 0)
+                ? List.of(migration.locations())
+                : switch (migration.engine()) {
+                    case FLYWAY -> List.of("classpath:db/migration");
+                    case LIQUIBASE -> List.of("db/changelog.sql");
+                };
+        return new MigrationSnapshot(migration.engine().name(), locations);
     }
 
     @Override
@@ -84,8 +127,7 @@ public String isolationPrefix(@NotNull A annotation) {
                                                             @NotNull ExtensionContext extension,
                                                             @NotNull String namespace) {
         JdbcConnection connection = context.connection();
-        if (migration(annotation).strategy() == Migration.Strategy.TEMPLATE_CLONE
-                && migration(annotation).apply() != Migration.Mode.NONE) {
+        if (cloneTemplate(annotation)) {
             cloneTemplateDatabase(annotation, connection, extension, namespace);
         } else {
             createDatabaseIfNeeded(connection, namespace);
@@ -94,6 +136,25 @@ && migration(annotation).apply() != Migration.Mode.NONE) {
         return connectionForDatabase(connection, namespace);
     }
 
+    @Override
+    public JdbcConnection prepareIsolatedConnection(@NotNull A annotation,
+                                                    @NotNull ContainerContext<JdbcConnection> context,
+                                                    @NotNull String namespace) {
+        if (cloneTemplate(annotation)) {
+            // template database is resolved per test class, so database is cloned when test takes connection
+            return null;
+        }
+
+        JdbcConnection connection = context.connection();
+        createDatabaseIfNeeded(connection, namespace);
+        JdbcConnection isolated = connectionForDatabase(connection, namespace);
+        if (isolated instanceof JdbcConnectionImpl jdbcConnection) {
+            jdbcConnection.dataSource();
+        }
+
+        return isolated;
+    }
+
     @Override
     public void closeIsolatedConnection(@NotNull A annotation,
                                         @NotNull JdbcConnection connection,
@@ -103,6 +164,16 @@ public void closeIsolatedConnection(@NotNull A annotation,
         }
     }
 
+    @Override
+    public void dropIsolatedNamespaces(@NotNull A annotation,
+                                       @NotNull ContainerContext<JdbcConnection> context,
+                                       @NotNull List<String> namespaces) {
+        JdbcConnection connection = context.connection();
+        for (String namespace : namespaces) {
+            connection.execute(dropDatabaseSql(namespace));
+        }
+    }
+
     @Override
     public void afterStart(@NotNull A annotation,
                            @NotNull ContainerContext<JdbcConnection> context,
@@ -147,6 +218,12 @@ public void beforeStop(@NotNull A annotation,
         }
     }
 
+    @Override
+    public boolean reset(@NotNull A annotation, @NotNull ContainerContext<JdbcConnection> context) {
+        drop(annotation, context.connection());
+        return true;
+    }
+
     protected static JdbcMetadata metadata(Network network,
                                            String image,
                                            ContainerMode mode,
@@ -154,16 +231,21 @@ protected static JdbcMetadata metadata(Network network,
         return new JdbcMetadata(network.shared(), network.alias(), image, mode, migration);
     }
 
+    private boolean cloneTemplate(A annotation) {
+        return migration(annotation).strategy() == Migration.Strategy.TEMPLATE_CLONE
+                && migration(annotation).apply() != Migration.Mode.NONE;
+    }
+
     private void validate(A annotation) {
         if (isolation(annotation) != Isolation.Mode.DISABLED && !isIsolationSupported(annotation)) {
-            throw new ExtensionConfigurationException("@%s doesn't support Isolation.Mode.PER_METHOD"
-                    .formatted(containerAnnotationType().getSimpleName()));
+            throw new ExtensionConfigurationException("@%s doesn't support Isolation.Mode.%s"
+                    .formatted(containerAnnotationType().getSimpleName(), isolation(annotation)));
         }
 
         if (migration(annotation).strategy() == Migration.Strategy.TEMPLATE_CLONE) {
             if (isolation(annotation) == Isolation.Mode.DISABLED) {
                 throw new ExtensionConfigurationException(
-                        "@%s Migration.Strategy.TEMPLATE_CLONE requires Isolation.Mode.PER_METHOD"
+                        "@%s Migration.Strategy.TEMPLATE_CLONE requires Isolation.Mode.PER_METHOD or Isolation.Mode.PER_CLASS"
                                 .formatted(containerAnnotationType().getSimpleName()));
             }
 
@@ -173,6 +255,19 @@ private void validate(A annotation) {
             }
         }
 
+        if (migration(annotation).snapshot()) {
+            if (!isSnapshotSupported(annotation)) {
+                throw new ExtensionConfigurationException("@%s doesn't support Migration.snapshot()"
+                        .formatted(containerAnnotationType().getSimpleName()));
+            }
+
+            if (migration(annotation).apply() != Migration.Mode.PER_CLASS || isolation(annotation) != Isolation.Mode.DISABLED) {
+                throw new ExtensionConfigurationException(
+                        "@%s Migration.snapshot() requires Migration.Mode.PER_CLASS apply and Isolation.Mode.DISABLED"
+                                .formatted(containerAnnotationType().getSimpleName()));
+            }
+        }
+
         if (mode(annotation) == ContainerMode.PER_METHOD && migration(annotation).apply() == Migration.Mode.PER_CLASS) {
             throw new ExtensionConfigurationException(String.format(
                     "@%s can't apply migration in Migration.Mode.PER_CLASS mode when ContainerMode.PER_METHOD is used",
@@ -188,10 +283,26 @@ protected boolean isTemplateCloneSupported(A annotation) {
         return false;
     }
 
+    protected boolean isSnapshotSupported(A annotation) {
+        return false;
+    }
+
+    /**
+     * Configures container so database files are captured when container is committed to snapshot
+     * image, data stored in image volumes is not part of committed image
+     *
+     * @param container container that is not started yet
+     */
+    protected void configureSnapshot(T container) {}
+
     protected String createDatabaseSql(String namespace) {
         return "CREATE DATABASE " + namespace;
     }
 
+    protected String dropDatabaseSql(String namespace) {
+        return "DROP DATABASE IF EXISTS " + namespace;
+    }
+
     protected String createDatabaseFromTemplateSql(String namespace, String template) {
         return "CREATE DATABASE " + namespace + " TEMPLATE " + template;
     }
@@ -3,7 +3,9 @@
 import io.goodforgod.testcontainers.extensions.AbstractTestcontainersExtension;
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ReadinessProbe;
 import java.util.Arrays;
+import java.util.Properties;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
@@ -33,6 +35,21 @@ private void tryDropIfRequired(JdbcMetadata metadata, ExtensionContext context)
 
     protected abstract ContainerContext<JdbcConnection> createContainerContext(Container container);
 
+    /**
+     * @param container to connect
+     * @return wait strategy that opens JDBC connection to container and validates it
+     */
+    protected static ReadinessProbe readinessProbe(JdbcDatabaseContainer<?> container) {
+        return ReadinessProbe.of("JDBC isValid", target -> {
+            var properties = new Properties();
+            properties.put("user", container.getUsername());
+            properties.put("password", container.getPassword());
+            try (var connection = container.getJdbcDriverInstance().connect(container.getJdbcUrl(), properties)) {
+                return connection != null && connection.isValid(1);
+            }
+        });
+    }
+
     final Container createContainerFromProvider(Metadata metadata) {
         return createContainerDefault(metadata);
     }
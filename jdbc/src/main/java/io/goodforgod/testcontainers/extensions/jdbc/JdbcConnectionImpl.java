@@ -2,6 +2,7 @@
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.goodforgod.testcontainers.extensions.ConnectionEvent;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
@@ -79,6 +80,7 @@ public String toString() {
 
     private final Params params;
     private final Params network;
+    private final String protocol;
 
     private volatile FlywayJdbcMigrationEngine flywayJdbcMigrationEngine;
     private volatile LiquibaseJdbcMigrationEngine liquibaseJdbcMigrationEngine;
@@ -89,6 +91,7 @@ public String toString() {
     JdbcConnectionImpl(Params params, Params network) {
         this.params = params;
         this.network = network;
+        this.protocol = protocol(params.jdbcUrl());
     }
 
     static JdbcConnection forProtocol(String driverProtocol,
@@ -154,6 +157,16 @@ static JdbcConnection forExternal(String jdbcUrl, String username, String passwo
         }
     }
 
+    /**
+     * @return driver protocol, such as {@code postgresql} for {@code jdbc:postgresql://host:5432/db}
+     */
+    private static String protocol(String jdbcUrl) {
+        var protocolEnd = jdbcUrl.indexOf(':', "jdbc:".length());
+        return (jdbcUrl.startsWith("jdbc:") && protocolEnd != -1)
+                ? jdbcUrl.substring("jdbc:".length(), protocolEnd)
+                : jdbcUrl;
+    }
+
     @Override
     public @NotNull Params params() {
         return params;
@@ -181,8 +194,10 @@ public Connection openConnection() {
     @Override
     public void execute(@Language("SQL") @NotNull String sql) {
         logger.debug("Executing SQL:\n{}", sql);
+        var event = ConnectionEvent.start();
         try (var openedConnection = openConnection(); var stmt = openedConnection.createStatement()) {
             stmt.execute(sql);
+            event.commit(protocol, "execute", sql, Math.max(stmt.getUpdateCount(), 0));
         } catch (SQLException e) {
             throw new JdbcConnectionException(e);
         }
@@ -259,6 +274,7 @@ public <T, E extends Throwable> List<T> queryMany(@Language("SQL") @NotNull Stri
                                                       @NotNull ResultSetMapper<T, E> extractor)
             throws E {
         logger.debug("Executing SQL:\n{}", sql);
+        var event = ConnectionEvent.start();
         try (var openedConnection = openConnection();
                 var stmt = openedConnection.prepareStatement(sql);
                 var rs = stmt.executeQuery()) {
@@ -266,6 +282,7 @@ public <T, E extends Throwable> List<T> queryMany(@Language("SQL") @NotNull Stri
             while (rs.next()) {
                 result.add(extractor.apply(rs));
             }
+            event.commit(protocol, "queryMany", sql, result.size());
             return result;
         } catch (SQLException e) {
             throw new JdbcConnectionException(e);
@@ -13,7 +13,8 @@
  * {@link JdbcConnection}. This is the historical behavior and remains the default.
  * <p>
  * Migration {@link Strategy#TEMPLATE_CLONE} is intended for {@link
- * io.goodforgod.testcontainers.extensions.Isolation.Mode#PER_METHOD}. A provider creates a migrated
+ * io.goodforgod.testcontainers.extensions.Isolation.Mode#PER_METHOD} and {@link
+ * io.goodforgod.testcontainers.extensions.Isolation.Mode#PER_CLASS}. A provider creates a migrated
  * template database once and then creates every isolated test database from that template. This can
  * be much faster than applying Flyway or Liquibase migrations for every test method. PostgreSQL
  * supports this strategy via {@code CREATE DATABASE ... TEMPLATE ...}; unsupported providers fail
@@ -66,6 +67,18 @@
      */
     Strategy strategy() default Strategy.DEFAULT;
 
+    /**
+     * Container is committed to local snapshot image after first migration, later runs with unchanged
+     * image, engine and content of {@link #locations()} start from snapshot image and skip migration.
+     * Snapshot images of previous migrations are removed after new snapshot is committed.
+     * <p>
+     * Requires {@link Mode#PER_CLASS} apply and disabled isolation. Currently PostgreSQL supports
+     * snapshot.
+     *
+     * @return true to cache migrated container as local image
+     */
+    boolean snapshot() default false;
+
     /**
      * Database migration engine implementation
      */
@@ -109,7 +122,8 @@ enum Strategy {
         DEFAULT,
         /**
          * Creates a migrated template database once and clones it for each isolated connection.
-         * Requires {@code Isolation.Mode.PER_METHOD}. Currently PostgreSQL supports this strategy.
+         * Requires {@code Isolation.Mode.PER_METHOD} or {@code Isolation.Mode.PER_CLASS}. Currently
+         * PostgreSQL supports this strategy.
          */
         TEMPLATE_CLONE
     }
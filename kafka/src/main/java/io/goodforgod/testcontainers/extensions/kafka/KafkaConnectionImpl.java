@@ -1,5 +1,6 @@
 package io.goodforgod.testcontainers.extensions.kafka;
 
+import io.goodforgod.testcontainers.extensions.ConnectionEvent;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
@@ -154,8 +155,10 @@ private void launch() {
         }
 
         private void poll(Duration maxPollTimeout) {
+            var event = ConnectionEvent.start();
             var records = consumer.poll(maxPollTimeout);
             if (!records.isEmpty()) {
+                event.commit("kafka", "poll", String.join(",", topics), records.count());
                 logger.info("KafkaConsumer '{}' polled '{}' records from topics: {}", clientId, records.count(), topics);
             } else {
                 logger.trace("KafkaConsumer '{}' polled '{}' records from topics {}...", clientId, records.count(), topics);
@@ -407,6 +410,7 @@ public void send(@NotNull String topic, @NotNull List<Event> events) {
 
         createTopicsIfNeeded(Set.of(topic), false);
 
+        var sent = ConnectionEvent.start();
         for (Event event : events) {
             final byte[] key = (event.key() == null)
                     ? null
@@ -429,6 +433,8 @@ public void send(@NotNull String topic, @NotNull List<Event> events) {
                 throw new KafkaConnectionException("KafkaProducer sent event failed: " + event, e);
             }
         }
+
+        sent.commit("kafka", "send", topic, events.size());
     }
 
     @Override
@@ -524,6 +530,38 @@ void createTopicsIfNeeded(@NotNull Set<String> topics, boolean reset) {
         createTopicsIfNeeded(getAdmin(), topics, reset);
     }
 
+    void dropAllTopics() {
+        dropAllTopics(getAdmin());
+    }
+
+    static void dropAllTopics(@NotNull Admin admin) {
+        try {
+            logger.trace("Looking for existing topics...");
+            var existingTopics = userTopics(admin);
+            if (existingTopics.isEmpty()) {
+                logger.debug("All topics already dropped");
+                return;
+            }
+
+            logger.trace("Topics {} dropping...", existingTopics);
+            admin.deleteTopics(existingTopics).all().get(1, TimeUnit.MINUTES);
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(35))
+                    .pollInterval(AWAIT_POLL_INTERVAL)
+                    .until(() -> userTopics(admin), Set::isEmpty);
+            logger.info("All topics {} dropped", existingTopics);
+        } catch (Exception e) {
+            throw new KafkaConnectionException("Kafka Admin operation failed for dropping all topics", e);
+        }
+    }
+
+    // topics prefixed with underscore are service topics (consumer offsets, schemas, etc.)
+    private static Set<String> userTopics(Admin admin) throws Exception {
+        return admin.listTopics().names().get(1, TimeUnit.MINUTES).stream()
+                .filter(topic -> !topic.startsWith("_"))
+                .collect(Collectors.toSet());
+    }
+
     static void createTopicsIfNeeded(@NotNull Admin admin, @NotNull Set<String> topics, boolean reset) {
         try {
             logger.trace("Looking for existing topics...");
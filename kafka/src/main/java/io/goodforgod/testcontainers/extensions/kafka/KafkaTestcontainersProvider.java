@@ -2,6 +2,7 @@
 
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ContainerResources;
 import io.goodforgod.testcontainers.extensions.TestcontainersProvider;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -62,7 +63,14 @@ public String networkAlias(@NotNull TestcontainersKafka annotation) {
     @Override
     public @NotNull GenericContainer<?> createContainer(@NotNull TestcontainersKafka annotation) {
         validate(annotation);
-        return delegate.createContainerDefault(metadata(annotation));
+        GenericContainer<?> container = delegate.createContainerDefault(metadata(annotation));
+        long heap = ContainerResources.heapMegabytes(annotation.resources());
+        if (heap > 0) {
+            // broker uses fixed 1G heap regardless of container memory, so heap is sized to memory limit
+            container.withEnv("KAFKA_HEAP_OPTS", "-Xmx%dm -Xms%dm".formatted(heap, heap));
+        }
+
+        return container;
     }
 
     @Override
@@ -113,6 +121,15 @@ public void afterEach(@NotNull TestcontainersKafka annotation,
         }
     }
 
+    @Override
+    public boolean reset(@NotNull TestcontainersKafka annotation, @NotNull ContainerContext<KafkaConnection> context) {
+        ((KafkaContext) context).pool().clear();
+        KafkaConnectionImpl connection = (KafkaConnectionImpl) context.connection();
+        connection.clear();
+        connection.dropAllTopics();
+        return true;
+    }
+
     @Override
     public Object resolveParameter(@NotNull ContainerContext<KafkaConnection> context, @NotNull ParameterContext parameter) {
         ConnectionKafka annotation = parameter.getParameter().getAnnotation(ConnectionKafka.class);
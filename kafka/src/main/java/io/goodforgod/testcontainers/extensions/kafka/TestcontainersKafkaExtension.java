@@ -3,10 +3,15 @@
 import io.goodforgod.testcontainers.extensions.AbstractTestcontainersExtension;
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ReadinessProbe;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
@@ -17,7 +22,6 @@
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.kafka.ConfluentKafkaContainer;
 import org.testcontainers.kafka.KafkaContainer;
 import org.testcontainers.utility.ComparableVersion;
@@ -65,8 +69,11 @@ protected GenericContainer createContainerDefault(KafkaMetadata metadata) {
                 .asCompatibleSubstituteFor(DockerImageName.parse("apache/kafka-native"));
 
         var container = (image.asCanonicalNameString().contains("confluentinc"))
-                ? new org.testcontainers.containers.KafkaContainer(image).waitingFor(Wait.forListeningPort())
-                : new KafkaContainer(image).waitingFor(Wait.forLogMessage(".*Startup complete.*", 1));
+                ? new org.testcontainers.containers.KafkaContainer(image)
+                : new KafkaContainer(image);
+        container.waitingFor((container instanceof org.testcontainers.containers.KafkaContainer okc)
+                ? readinessProbe(okc::getBootstrapServers)
+                : readinessProbe(((KafkaContainer) container)::getBootstrapServers));
         final String alias = Optional.ofNullable(metadata.networkAlias()).orElseGet(() -> "kafka-" + System.currentTimeMillis());
 
         var loggerClass = (container instanceof org.testcontainers.containers.KafkaContainer okc)
@@ -106,6 +113,22 @@ protected GenericContainer createContainerDefault(KafkaMetadata metadata) {
         return container;
     }
 
+    /**
+     * @param bootstrapServers of started container
+     * @return wait strategy that describes cluster with admin client until broker is registered
+     */
+    private static ReadinessProbe readinessProbe(Supplier<String> bootstrapServers) {
+        return ReadinessProbe.of("Kafka describeCluster", target -> {
+            final Properties properties = new Properties();
+            properties.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers.get());
+            properties.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, 1000);
+            properties.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, 1000);
+            try (Admin admin = Admin.create(properties)) {
+                return !admin.describeCluster().nodes().get(1, TimeUnit.SECONDS).isEmpty();
+            }
+        });
+    }
+
     @NotNull
     protected Optional<KafkaMetadata> findMetadata(@NotNull ExtensionContext context) {
         return findAnnotation(TestcontainersKafka.class, context)
@@ -12,7 +12,6 @@
 import org.testcontainers.containers.MariaDBContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
 final class TestcontainersMariaDBExtension extends
@@ -21,6 +20,22 @@ final class TestcontainersMariaDBExtension extends
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
             .create(TestcontainersMariaDBExtension.class);
 
+    /**
+     * {@link org.testcontainers.containers.JdbcDatabaseContainer} ignores wait strategy and polls test
+     * query with fixed delay, so container waits for readiness probe instead
+     */
+    private static final class ProbedMariaDBContainer extends MariaDBContainer<ProbedMariaDBContainer> {
+
+        private ProbedMariaDBContainer(DockerImageName image) {
+            super(image);
+        }
+
+        @Override
+        protected void waitUntilContainerStarted() {
+            getWaitStrategy().waitUntilReady(this);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected Class<org.testcontainers.containers.MariaDBContainer<?>> getContainerType() {
@@ -47,7 +62,7 @@ protected org.testcontainers.containers.MariaDBContainer<?> createContainerDefau
         var image = DockerImageName.parse(metadata.image())
                 .asCompatibleSubstituteFor(DockerImageName.parse(org.testcontainers.containers.MariaDBContainer.NAME));
 
-        final MariaDBContainer<?> container = new MariaDBContainer<>(image);
+        final MariaDBContainer<?> container = new ProbedMariaDBContainer(image);
         final String alias = Optional.ofNullable(metadata.networkAlias())
                 .orElseGet(() -> "mariadb-" + System.currentTimeMillis());
         container.withDatabaseName(MariaDBContext.DATABASE_NAME);
@@ -56,7 +71,7 @@ protected org.testcontainers.containers.MariaDBContainer<?> createContainerDefau
         container.withLogConsumer(new Slf4jLogConsumer(LoggerFactory.getLogger(MariaDBContainer.class))
                 .withMdc("image", image.asCanonicalNameString())
                 .withMdc("alias", alias));
-        container.waitingFor(Wait.forListeningPort());
+        container.waitingFor(readinessProbe(container));
         container.withStartupTimeout(Duration.ofMinutes(2));
         container.setNetworkAliases(new ArrayList<>(List.of(alias)));
         if (metadata.networkShared()) {
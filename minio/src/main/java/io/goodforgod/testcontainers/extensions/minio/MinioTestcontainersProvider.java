@@ -114,6 +114,19 @@ public void beforeStop(@NotNull TestcontainersMinio annotation,
         }
     }
 
+    @Override
+    public boolean reset(@NotNull TestcontainersMinio annotation, @NotNull ContainerContext<MinioConnection> context) {
+        try {
+            List<String> buckets = context.connection().client().listBuckets().stream()
+                    .map(io.minio.messages.Bucket::name)
+                    .toList();
+            dropIfExist(buckets, context.connection());
+            return true;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static MinioMetadata metadata(TestcontainersMinio annotation) {
         return new MinioMetadata(annotation.network().shared(), annotation.network().alias(), annotation.image(),
                 annotation.mode(), annotation.bucket());
@@ -146,7 +159,11 @@ private static void createIfNotExist(TestcontainersMinio annotation, MinioConnec
     }
 
     private static void dropIfExist(TestcontainersMinio annotation, MinioConnection connection) {
-        for (String bucket : annotation.bucket().value()) {
+        dropIfExist(Arrays.asList(annotation.bucket().value()), connection);
+    }
+
+    private static void dropIfExist(List<String> buckets, MinioConnection connection) {
+        for (String bucket : buckets) {
             try {
                 boolean exist = connection.client().bucketExists(BucketExistsArgs.builder()
                         .bucket(bucket)
@@ -66,4 +66,11 @@ public String networkAlias(@NotNull TestcontainersMockServer annotation) {
     public @NotNull ContainerContext<MockServerConnection> createContext(@NotNull GenericContainer<?> container) {
         return delegate.createContainerContext((MockServerContainer) container);
     }
+
+    @Override
+    public boolean reset(@NotNull TestcontainersMockServer annotation,
+                         @NotNull ContainerContext<MockServerConnection> context) {
+        context.connection().client().reset();
+        return true;
+    }
 }
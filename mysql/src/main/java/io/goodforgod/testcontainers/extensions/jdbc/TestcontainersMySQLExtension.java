@@ -12,7 +12,6 @@
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
 final class TestcontainersMySQLExtension extends AbstractTestcontainersJdbcExtension<MySQLContainer<?>, JdbcMetadata> {
@@ -20,6 +19,22 @@ final class TestcontainersMySQLExtension extends AbstractTestcontainersJdbcExten
     private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace
             .create(TestcontainersMySQLExtension.class);
 
+    /**
+     * {@link org.testcontainers.containers.JdbcDatabaseContainer} ignores wait strategy and polls test
+     * query with fixed delay, so container waits for readiness probe instead
+     */
+    private static final class ProbedMySQLContainer extends MySQLContainer<ProbedMySQLContainer> {
+
+        private ProbedMySQLContainer(DockerImageName image) {
+            super(image);
+        }
+
+        @Override
+        protected void waitUntilContainerStarted() {
+            getWaitStrategy().waitUntilReady(this);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected Class<MySQLContainer<?>> getContainerType() {
@@ -46,7 +61,7 @@ protected MySQLContainer<?> createContainerDefault(JdbcMetadata metadata) {
         var image = DockerImageName.parse(metadata.image())
                 .asCompatibleSubstituteFor(DockerImageName.parse(org.testcontainers.containers.MySQLContainer.NAME));
 
-        final MySQLContainer<?> container = new MySQLContainer<>(image);
+        final MySQLContainer<?> container = new ProbedMySQLContainer(image);
         final String alias = Optional.ofNullable(metadata.networkAlias()).orElseGet(() -> "mysql-" + System.currentTimeMillis());
         container.withDatabaseName(MySQLContext.DATABASE_NAME);
         container.withUsername("mysql");
@@ -54,7 +69,7 @@ protected MySQLContainer<?> createContainerDefault(JdbcMetadata metadata) {
         container.withLogConsumer(new Slf4jLogConsumer(LoggerFactory.getLogger(MySQLContainer.class), true)
                 .withMdc("image", image.asCanonicalNameString())
                 .withMdc("alias", alias));
-        container.waitingFor(Wait.forListeningPort());
+        container.waitingFor(readinessProbe(container));
         container.withStartupTimeout(Duration.ofMinutes(2));
         container.setNetworkAliases(new ArrayList<>(List.of(alias)));
         if (metadata.networkShared()) {
@@ -1,5 +1,6 @@
 package io.goodforgod.testcontainers.extensions.nats;
 
+import io.goodforgod.testcontainers.extensions.ConnectionEvent;
 import io.nats.client.*;
 import io.nats.client.impl.Headers;
 import io.nats.client.impl.NatsMessage;
@@ -358,6 +359,7 @@ public void send(@NotNull String subject, @Nullable String replyTo, @NotNull Lis
             throw new NatsConnectionException("Can't send cause was closed");
         }
 
+        var sent = ConnectionEvent.start();
         for (Event event : events) {
             final Headers headers;
             if (event.headers().isEmpty()) {
@@ -394,6 +396,8 @@ public void send(@NotNull String subject, @Nullable String replyTo, @NotNull Lis
                 throw new NatsConnectionException("NatsProducer sent event failed: " + event, e);
             }
         }
+
+        sent.commit("nats", "send", subject, events.size());
     }
 
     @Override
@@ -3,6 +3,7 @@
 import io.goodforgod.testcontainers.extensions.AbstractTestcontainersExtension;
 import io.goodforgod.testcontainers.extensions.ContainerContext;
 import io.goodforgod.testcontainers.extensions.ContainerMode;
+import io.goodforgod.testcontainers.extensions.ReadinessProbe;
 import io.testcontainers.nats.NatsContainer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -18,7 +19,6 @@
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.Network;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
 @Internal
@@ -58,7 +58,8 @@ protected GenericContainer createContainerDefault(NatsMetadata metadata) {
         var image = DockerImageName.parse(metadata.image())
                 .asCompatibleSubstituteFor(DockerImageName.parse("nats"));
 
-        var container = new NatsContainer(image).waitingFor(Wait.forListeningPort());
+        var container = new NatsContainer(image).waitingFor(ReadinessProbe.of("NATS PING", target -> ReadinessProbe.handshake(
+                target.getHost(), target.getMappedPort(NatsContainer.PORT_CLIENT), "CONNECT {}\r\nPING\r\n", "PONG")));
         final String alias = Optional.ofNullable(metadata.networkAlias()).orElseGet(() -> "nats-" + System.currentTimeMillis());
 
         var loggerClass = NatsContainer.class;
@@ -10,6 +10,9 @@
 public final class PostgreSQLTestcontainersProvider extends
         AbstractJdbcTestcontainersProvider<TestcontainersPostgreSQL, PostgreSQLContainer<?>> {
 
+    // outside of image VOLUME /var/lib/postgresql/data, so database files are part of committed image
+    private static final String SNAPSHOT_PGDATA = "/var/lib/postgresql/snapshot";
+
     private final TestcontainersPostgreSQLExtension delegate = new TestcontainersPostgreSQLExtension();
 
     @Override
@@ -52,6 +55,16 @@ protected boolean isTemplateCloneSupported(TestcontainersPostgreSQL annotation)
         return true;
     }
 
+    @Override
+    protected boolean isSnapshotSupported(TestcontainersPostgreSQL annotation) {
+        return true;
+    }
+
+    @Override
+    protected void configureSnapshot(PostgreSQLContainer<?> container) {
+        container.withEnv("PGDATA", SNAPSHOT_PGDATA);
+    }
+
     @Override
     protected boolean databaseExists(JdbcConnection connection, String database) {
         return connection.queryOne("SELECT 1 FROM pg_database WHERE datname = '" + database + "';",
@@ -55,6 +55,7 @@ protected PostgreSQLContainer<?> createContainerDefault(JdbcMetadata metadata) {
         container.withLogConsumer(new Slf4jLogConsumer(LoggerFactory.getLogger(PostgreSQLContainer.class), true)
                 .withMdc("image", image.asCanonicalNameString())
                 .withMdc("alias", alias));
+        container.waitingFor(readinessProbe(container));
         container.withStartupTimeout(Duration.ofMinutes(2));
         container.setNetworkAliases(new ArrayList<>(List.of(alias)));
         if (metadata.networkShared()) {
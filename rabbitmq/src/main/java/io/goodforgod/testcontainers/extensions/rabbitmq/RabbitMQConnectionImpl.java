@@ -5,6 +5,7 @@
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.Delivery;
+import io.goodforgod.testcontainers.extensions.ConnectionEvent;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
@@ -381,6 +382,7 @@ public void send(@NotNull String exchange, @NotNull String routingKey, @NotNull
             throw new RabbitMQConnectionException("Can't send cause was closed");
         }
 
+        var published = ConnectionEvent.start();
         try (Channel channel = connection.createChannel()) {
             if (exchange.isBlank()) {
                 ensureQueueExists(channel, routingKey);
@@ -403,6 +405,8 @@ public void send(@NotNull String exchange, @NotNull String routingKey, @NotNull
                 channel.basicPublish(exchange, routingKey, properties, event.value().asBytes());
                 logger.info("RabbitMQ published event to exchange '{}' and routing key '{}': {}", exchange, routingKey, event);
             }
+
+            published.commit("rabbitmq", "publish", exchange + "/" + routingKey, events.size());
         } catch (Exception e) {
             throw new RabbitMQConnectionException("RabbitMQ publish failed", e);
         }
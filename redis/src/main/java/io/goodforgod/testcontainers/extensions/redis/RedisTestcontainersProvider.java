@@ -64,4 +64,10 @@ public String networkAlias(@NotNull TestcontainersRedis annotation) {
     public @NotNull ContainerContext<RedisConnection> createContext(@NotNull GenericContainer<?> container) {
         return delegate.createContainerContext((RedisContainer) container);
     }
+
+    @Override
+    public boolean reset(@NotNull TestcontainersRedis annotation, @NotNull ContainerContext<RedisConnection> context) {
+        context.connection().deleteAll();
+        return true;
+    }
 }
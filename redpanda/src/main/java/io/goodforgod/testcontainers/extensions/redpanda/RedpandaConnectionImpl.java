@@ -524,6 +524,38 @@ void createTopicsIfNeeded(@NotNull Set<String> topics, boolean reset) {
         createTopicsIfNeeded(getAdmin(), topics, reset);
     }
 
+    void dropAllTopics() {
+        dropAllTopics(getAdmin());
+    }
+
+    static void dropAllTopics(@NotNull Admin admin) {
+        try {
+            logger.trace("Looking for existing topics...");
+            var existingTopics = userTopics(admin);
+            if (existingTopics.isEmpty()) {
+                logger.debug("All topics already dropped");
+                return;
+            }
+
+            logger.trace("Topics {} dropping...", existingTopics);
+            admin.deleteTopics(existingTopics).all().get(1, TimeUnit.MINUTES);
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(35))
+                    .pollInterval(AWAIT_POLL_INTERVAL)
+                    .until(() -> userTopics(admin), Set::isEmpty);
+            logger.info("All topics {} dropped", existingTopics);
+        } catch (Exception e) {
+            throw new RedpandaConnectionException("Redpanda Admin operation failed for dropping all topics", e);
+        }
+    }
+
+    // topics prefixed with underscore are service topics (consumer offsets, schemas, etc.)
+    private static Set<String> userTopics(Admin admin) throws Exception {
+        return admin.listTopics().names().get(1, TimeUnit.MINUTES).stream()
+                .filter(topic -> !topic.startsWith("_"))
+                .collect(Collectors.toSet());
+    }
+
     static void createTopicsIfNeeded(@NotNull Admin admin, @NotNull Set<String> topics, boolean reset) {
         try {
             logger.trace("Looking for existing topics...");
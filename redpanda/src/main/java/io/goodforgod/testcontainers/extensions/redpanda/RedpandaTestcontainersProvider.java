@@ -116,6 +116,16 @@ public void afterEach(@NotNull TestcontainersRedpanda annotation,
         }
     }
 
+    @Override
+    public boolean reset(@NotNull TestcontainersRedpanda annotation,
+                         @NotNull ContainerContext<RedpandaConnection> context) {
+        ((RedpandaContext) context).pool().clear();
+        RedpandaConnectionImpl connection = (RedpandaConnectionImpl) context.connection();
+        connection.clear();
+        connection.dropAllTopics();
+        return true;
+    }
+
     @Override
     public Object resolveParameter(@NotNull ContainerContext<RedpandaConnection> context,
                                    @NotNull ParameterContext parameter) {
@@ -6,6 +6,7 @@
 import io.goodforgod.testcontainers.extensions.TestcontainersProvider;
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.List;
 import org.jetbrains.annotations.ApiStatus.Internal;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.extension.ExtensionConfigurationException;
@@ -81,7 +82,22 @@ public String isolationPrefix(@NotNull TestcontainersScylla annotation) {
                                                               @NotNull ContainerContext<ScyllaConnection> context,
                                                               @NotNull ExtensionContext extension,
                                                               @NotNull String namespace) {
-        ScyllaConnection connection = context.connection();
+        return isolatedConnection(context.connection(), namespace);
+    }
+
+    @Override
+    public ScyllaConnection prepareIsolatedConnection(@NotNull TestcontainersScylla annotation,
+                                                      @NotNull ContainerContext<ScyllaConnection> context,
+                                                      @NotNull String namespace) {
+        ScyllaConnection isolated = isolatedConnection(context.connection(), namespace);
+        if (isolated instanceof ScyllaConnectionImpl scyllaConnection) {
+            scyllaConnection.createKeyspace(namespace);
+        }
+
+        return isolated;
+    }
+
+    private static ScyllaConnection isolatedConnection(ScyllaConnection connection, String namespace) {
         ScyllaConnection.Params params = connection.params();
         ScyllaConnection.Params network = connection.paramsInNetwork().orElse(null);
         return new ScyllaConnectionClosableImpl(
@@ -93,6 +109,16 @@ public String isolationPrefix(@NotNull TestcontainersScylla annotation) {
                                 network.username(), network.password()));
     }
 
+    @Override
+    public void dropIsolatedNamespaces(@NotNull TestcontainersScylla annotation,
+                                       @NotNull ContainerContext<ScyllaConnection> context,
+                                       @NotNull List<String> namespaces) {
+        ScyllaConnection connection = context.connection();
+        for (String namespace : namespaces) {
+            connection.execute("DROP KEYSPACE IF EXISTS " + namespace + ";");
+        }
+    }
+
     @Override
     public void closeIsolatedConnection(@NotNull TestcontainersScylla annotation,
                                         @NotNull ScyllaConnection connection,
@@ -1,9 +1,9 @@
 package io.goodforgod.testcontainers.extensions.valkey;
 
+import io.goodforgod.testcontainers.extensions.ReadinessProbe;
 import java.time.Duration;
 import org.jetbrains.annotations.NotNull;
 import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.utility.DockerImageName;
 
 public class ValkeyContainer extends GenericContainer<ValkeyContainer> {
@@ -28,7 +28,9 @@ public ValkeyContainer(DockerImageName dockerImageName) {
         dockerImageName.assertCompatibleWith(IMAGE);
         this.withExposedPorts(PORT);
         this.withCommand("valkey-server", "--requirepass", DEFAULT_PASSWORD);
-        this.waitingFor(Wait.forLogMessage(".*Ready to accept connections.*", 1));
+        // PING replies with LOADING error until dataset is loaded
+        this.waitingFor(ReadinessProbe.of("Valkey PING", target -> ReadinessProbe.handshake(target.getHost(),
+                target.getMappedPort(PORT), "AUTH " + DEFAULT_PASSWORD + "\r\nPING\r\n", "+PONG")));
         this.withStartupTimeout(Duration.ofSeconds(30));
     }
 
@@ -64,4 +64,10 @@ public String networkAlias(@NotNull TestcontainersValkey annotation) {
     public @NotNull ContainerContext<ValkeyConnection> createContext(@NotNull GenericContainer<?> container) {
         return delegate.createContainerContext((ValkeyContainer) container);
     }
+
+    @Override
+    public boolean reset(@NotNull TestcontainersValkey annotation, @NotNull ContainerContext<ValkeyConnection> context) {
+        context.connection().deleteAll();
+        return true;
+    }
 }